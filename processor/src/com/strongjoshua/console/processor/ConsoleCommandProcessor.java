@@ -0,0 +1,369 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a {@code CommandDispatcher} for every concrete {@code ICommandContainer} class with {@code @ConsoleCommand} methods. The
+ * console uses the generated class instead of reflection, both to find the commands and to invoke them. The help text of every command
+ * and of the whole container is precomputed as well.
+ * <p>
+ * Only refers to the console classes by name, so the processor does not need the console (or libGDX) on its own classpath.
+ */
+@SupportedAnnotationTypes("*")
+public class ConsoleCommandProcessor extends AbstractProcessor {
+    static final String PACKAGE = "com.strongjoshua.console";
+    static final String CONSOLE_COMMAND = PACKAGE + ".annotation.ConsoleCommand";
+    static final String CONSOLE_DOC = PACKAGE + ".annotation.ConsoleDoc";
+    static final String HIDDEN_COMMAND = PACKAGE + ".annotation.HiddenCommand";
+    static final String PARAMETER_OPTION = PACKAGE + ".annotation.ParameterOption";
+    static final String PARAMETER_OPTIONS = PACKAGE + ".annotation.ParameterOptions";
+    static final String COMMAND_CONTAINER = PACKAGE + ".ICommandContainer";
+    static final String SUFFIX = "_ConsoleDispatcher";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement containerType = processingEnv.getElementUtils().getTypeElement(COMMAND_CONTAINER);
+        if (containerType == null) {
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(allTypes(roundEnv.getRootElements()))) {
+            if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                    || !processingEnv.getTypeUtils().isAssignable(type.asType(),
+                    processingEnv.getTypeUtils().erasure(containerType.asType()))) {
+                continue;
+            }
+            List<ExecutableElement> commands = findCommands(type);
+            if (commands.isEmpty()) {
+                continue;
+            }
+            if (!isAccessible(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Not generating a console dispatcher for private class, reflection will be used.", type);
+                continue;
+            }
+            try {
+                generate(type, commands);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write console dispatcher: " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    private static Set<Element> allTypes(Collection<? extends Element> roots) {
+        Set<Element> types = new LinkedHashSet<>();
+        for (Element element : roots) {
+            if (element instanceof TypeElement) {
+                types.add(element);
+                types.addAll(allTypes(element.getEnclosedElements()));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * The same methods the console finds through reflection: public methods, including inherited ones, with {@code @ConsoleCommand}.
+     */
+    private List<ExecutableElement> findCommands(TypeElement type) {
+        List<ExecutableElement> commands = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)
+                    && getAnnotation(method, CONSOLE_COMMAND) != null) {
+                commands.add(method);
+            }
+        }
+        return commands;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type, List<ExecutableElement> commands) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String containerName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        StringBuilder s = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            s.append("package ").append(packageName).append(";\n\n");
+        }
+        s.append("/**\n * Generated by ").append(getClass().getName()).append(" for {@link ").append(containerName)
+                .append("}, do not edit.\n */\n");
+        s.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        s.append("public final class ").append(simpleName).append(" implements ").append(PACKAGE)
+                .append(".CommandDispatcher {\n");
+
+        s.append("    @Override\n    public ").append(PACKAGE).append(".CommandMethod[] createMethods() {\n");
+        s.append("        return new ").append(PACKAGE).append(".CommandMethod[]{\n");
+        for (int id = 0; id < commands.size(); id++) {
+            appendMethod(s, commands.get(id), id);
+            s.append(id < commands.size() - 1 ? ",\n" : "\n");
+        }
+        s.append("        };\n    }\n\n");
+
+        StringBuilder help = new StringBuilder();
+        for (ExecutableElement method : commands) {
+            help.append(help(method));
+        }
+        s.append("    @Override\n    public String getHelp() {\n        return ");
+        appendString(s, help.toString()).append(";\n    }\n\n");
+
+        s.append("    private static final class Invoker implements ").append(PACKAGE).append(".CommandInvoker {\n");
+        s.append("        private final int id;\n        private final String name;\n\n");
+        s.append("        Invoker(int id, String name) {\n            this.id = id;\n            this.name = name;\n        }\n\n");
+        s.append("        @Override\n        public Object invoke(Object target, Object[] args) ")
+                .append("throws com.badlogic.gdx.utils.reflect.ReflectionException {\n");
+        s.append("            ").append(containerName).append(" container = (").append(containerName).append(") target;\n");
+        s.append("            try {\n                switch (id) {\n");
+        for (int id = 0; id < commands.size(); id++) {
+            ExecutableElement method = commands.get(id);
+            s.append("                    case ").append(id).append(":\n                        ");
+            boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+            s.append(isVoid ? "container." : "return container.").append(method.getSimpleName()).append("(");
+            List<? extends VariableElement> parameters = method.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0) s.append(", ");
+                s.append("(").append(boxedName(parameters.get(i).asType())).append(") args[").append(i).append("]");
+            }
+            s.append(");\n");
+            if (isVoid) {
+                s.append("                        return null;\n");
+            }
+        }
+        s.append("                    default:\n                        throw new IllegalStateException(\"Unknown command id \" + id);\n");
+        s.append("                }\n            } catch (Throwable t) {\n");
+        s.append("                throw new com.badlogic.gdx.utils.reflect.ReflectionException(")
+                .append("\"Exception occurred in method: \" + name, t);\n");
+        s.append("            }\n        }\n    }\n}\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(s.toString());
+        }
+    }
+
+    private void appendMethod(StringBuilder s, ExecutableElement method, int id) {
+        AnnotationMirror command = getAnnotation(method, CONSOLE_COMMAND);
+        AnnotationMirror doc = getAnnotation(method, CONSOLE_DOC);
+        String name = method.getSimpleName().toString();
+
+        s.append("            new ").append(PACKAGE).append(".CommandMethod(");
+        appendString(s, name).append(", ");
+        appendString(s, (String) getValue(command, "commandName")).append(", ");
+        appendStrings(s, getValue(command, "parameterNames")).append(",\n                    new Class<?>[]{");
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) s.append(", ");
+            s.append(processingEnv.getTypeUtils().erasure(parameters.get(i).asType())).append(".class");
+        }
+        s.append("}, ").append(getAnnotation(method, HIDDEN_COMMAND) != null).append(",\n                    ");
+        if (doc != null) {
+            appendString(s, (String) getValue(doc, "description")).append(", ");
+            appendStrings(s, getValue(doc, "paramDescriptions"));
+        } else {
+            s.append("null, null");
+        }
+        s.append(", ");
+        appendParameterOptionIds(s, method);
+        s.append(", ").append(getValue(command, "async")).append(",\n                    ");
+        appendString(s, help(method));
+        s.append(",\n                    new Invoker(").append(id).append(", ");
+        appendString(s, name).append("))");
+    }
+
+    /**
+     * The same text {@code CommandMethod.getHelp()} builds from the annotations at runtime.
+     */
+    private String help(ExecutableElement method) {
+        AnnotationMirror command = getAnnotation(method, CONSOLE_COMMAND);
+        AnnotationMirror doc = getAnnotation(method, CONSOLE_DOC);
+        String name = method.getSimpleName().toString();
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<?> parameterNames = (List<?>) getValue(command, "parameterNames");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("-").append(name).append("(");
+        if (parameters.isEmpty()) {
+            sb.append("void");
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) sb.append(", ");
+            if (i < parameterNames.size()) {
+                sb.append(((AnnotationValue) parameterNames.get(i)).getValue()).append(":");
+            }
+            sb.append(simpleName(parameters.get(i).asType()));
+        }
+        sb.append("):\n");
+        if (doc != null) {
+            sb.append(getValue(doc, "description")).append("\n\n");
+            List<?> descriptions = (List<?>) getValue(doc, "paramDescriptions");
+            for (int i = 0; i < parameters.size(); i++) {
+                for (int j = 0; j < name.length() + 2; j++) {
+                    sb.append(" ");
+                }
+                sb.append(simpleName(parameters.get(i).asType())).append(": ");
+                if (i < descriptions.size()) {
+                    sb.append(((AnnotationValue) descriptions.get(i)).getValue());
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Same as {@link Class#getSimpleName()} of the erased type.
+     */
+    private String simpleName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return simpleName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) erased).asElement().getSimpleName().toString();
+        }
+        return erased.toString();
+    }
+
+    /**
+     * The first option id of every parameter, read in the same order as the console reads them through reflection.
+     */
+    private void appendParameterOptionIds(StringBuilder s, ExecutableElement method) {
+        List<AnnotationMirror> options = new ArrayList<>();
+        AnnotationMirror container = getAnnotation(method, PARAMETER_OPTIONS);
+        if (container != null) {
+            for (Object value : (List<?>) getValue(container, "value")) {
+                options.add((AnnotationMirror) ((AnnotationValue) value).getValue());
+            }
+        }
+        AnnotationMirror single = getAnnotation(method, PARAMETER_OPTION);
+        if (single != null) {
+            options.add(single);
+        }
+        if (options.isEmpty()) {
+            s.append("null");
+            return;
+        }
+        int[] ids = new int[method.getParameters().size()];
+        Arrays.fill(ids, -1);
+        for (AnnotationMirror option : options) {
+            int index = (Integer) getValue(option, "index");
+            if (index >= 0 && index < ids.length && ids[index] == -1) {
+                ids[index] = (Integer) getValue(option, "id");
+            }
+        }
+        s.append("new int[]{");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) s.append(", ");
+            s.append(ids[i]);
+        }
+        s.append("}");
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException("No value " + name + " in " + mirror);
+    }
+
+    private static StringBuilder appendStrings(StringBuilder s, Object values) {
+        s.append("new String[]{");
+        List<?> list = (List<?>) values;
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) s.append(", ");
+            appendString(s, (String) ((AnnotationValue) list.get(i)).getValue());
+        }
+        return s.append("}");
+    }
+
+    private static StringBuilder appendString(StringBuilder s, String value) {
+        s.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    s.append("\\\"");
+                    break;
+                case '\\':
+                    s.append("\\\\");
+                    break;
+                case '\n':
+                    s.append("\\n");
+                    break;
+                case '\r':
+                    s.append("\\r");
+                    break;
+                case '\t':
+                    s.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        s.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        s.append(c);
+                    }
+            }
+        }
+        return s.append('"');
+    }
+}
@@ -0,0 +1,135 @@
+package com.strongjoshua.console.processor;
+
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.strongjoshua.console.CommandDispatcher;
+import com.strongjoshua.console.CommandMethod;
+import com.strongjoshua.console.ICommandContainer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Compiles a sample container with the processor and checks the generated dispatcher.
+ */
+public class ConsoleCommandProcessorTest {
+	private static final String SAMPLE = "package sample;\n" //
+		+ "import com.strongjoshua.console.ICommandContainer;\n" //
+		+ "import com.strongjoshua.console.annotation.*;\n" //
+		+ "public class Sample implements ICommandContainer {\n" //
+		+ "    public String getCommandPrefix() { return \"sample\"; }\n" //
+		+ "    @ConsoleCommand(commandName = \"sum\", parameterNames = {\"a\", \"b\"})\n" //
+		+ "    @ConsoleDoc(description = \"Adds.\", paramDescriptions = {\"first\", \"second\"})\n" //
+		+ "    public int add(int a, int b) { return a + b; }\n" //
+		+ "    @HiddenCommand @ConsoleCommand(async = true)\n" //
+		+ "    @ParameterOption(index = 0, id = 7)\n" //
+		+ "    public void secret(String value) { throw new IllegalStateException(value); }\n" //
+		+ "    public void notACommand() {}\n" //
+		+ "    public static class Nested implements ICommandContainer {\n" //
+		+ "        public String getCommandPrefix() { return \"nested\"; }\n" //
+		+ "        @ConsoleCommand public void run() {}\n" //
+		+ "    }\n" //
+		+ "    private static class Hidden implements ICommandContainer {\n" //
+		+ "        public String getCommandPrefix() { return \"hidden\"; }\n" //
+		+ "        @ConsoleCommand public void run() {}\n" //
+		+ "    }\n" //
+		+ "}\n";
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	private ClassLoader loader;
+	private File output;
+
+	@Before public void setUp () throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		output = folder.newFolder("classes");
+		StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+		JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///sample/Sample.java"), JavaFileObject.Kind.SOURCE) {
+			@Override public CharSequence getCharContent (boolean ignoreEncodingErrors) {
+				return SAMPLE;
+			}
+		};
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+			Arrays.asList("-d", output.getPath(), "-s", output.getPath(), "-classpath", System.getProperty("java.class.path")), null,
+			Collections.singletonList(source));
+		task.setProcessors(Collections.singletonList(new ConsoleCommandProcessor()));
+		assertTrue("Sample did not compile: " + diagnostics.getDiagnostics(), task.call());
+		loader = new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader());
+	}
+
+	private CommandDispatcher dispatcher (String name) throws Exception {
+		return (CommandDispatcher)loader.loadClass(name).newInstance();
+	}
+
+	@Test public void shouldDescribeEveryCommand () throws Exception {
+		CommandMethod[] methods = dispatcher("sample.Sample_ConsoleDispatcher").createMethods();
+		assertEquals(2, methods.length);
+
+		CommandMethod add = methods[0];
+		assertEquals("add", add.getName());
+		assertEquals("sum", add.getCommandName());
+		assertArrayEquals(new String[] {"a", "b"}, add.getParameterNames());
+		assertArrayEquals(new Class<?>[] {int.class, int.class}, add.getParameterTypes());
+		assertEquals("Adds.", add.getDescription());
+		assertFalse(add.isHidden());
+		assertFalse(add.isAsync());
+		assertEquals(-1, add.getParameterOptionId(0));
+
+		CommandMethod secret = methods[1];
+		assertEquals("secret", secret.getName());
+		assertTrue(secret.isHidden());
+		assertTrue(secret.isAsync());
+		assertEquals(7, secret.getParameterOptionId(0));
+	}
+
+	@Test public void shouldPrecomputeHelp () throws Exception {
+		CommandDispatcher dispatcher = dispatcher("sample.Sample_ConsoleDispatcher");
+		CommandMethod[] methods = dispatcher.createMethods();
+		assertEquals("-add(a:int, b:int):\nAdds.\n\n     int: first     int: second", methods[0].getHelp());
+		assertEquals("-secret(String):\n", methods[1].getHelp());
+		assertEquals(methods[0].getHelp() + methods[1].getHelp(), dispatcher.getHelp());
+	}
+
+	@Test public void shouldInvokeMethodsDirectly () throws Exception {
+		CommandMethod[] methods = dispatcher("sample.Sample_ConsoleDispatcher").createMethods();
+		ICommandContainer container = (ICommandContainer)loader.loadClass("sample.Sample").newInstance();
+		assertEquals(5, methods[0].invoke(container, new Object[] {2, 3}));
+		try {
+			methods[1].invoke(container, new Object[] {"thrown"});
+			fail();
+		} catch (ReflectionException e) {
+			assertEquals("thrown", e.getCause().getMessage());
+		}
+	}
+
+	@Test public void shouldNameDispatchersOfNestedClasses () throws Exception {
+		CommandMethod[] methods = dispatcher("sample.Sample_Nested_ConsoleDispatcher").createMethods();
+		assertEquals(1, methods.length);
+		assertEquals("run", methods[0].getName());
+	}
+
+	@Test public void shouldSkipPrivateClasses () {
+		assertFalse(new File(output, "sample/Sample_Hidden_ConsoleDispatcher.java").exists());
+		assertTrue(new File(output, "sample/Sample_ConsoleDispatcher.java").exists());
+	}
+}
@@ -17,28 +17,42 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.scenes.scene2d.ui.Window;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
-import com.badlogic.gdx.utils.OrderedSet;
-import com.badlogic.gdx.utils.reflect.Annotation;
-import com.badlogic.gdx.utils.reflect.ClassReflection;
-import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.reflect.ReflectionException;
-import com.strongjoshua.console.annotation.ConsoleCommand;
-import com.strongjoshua.console.annotation.ConsoleDoc;
-import com.sun.org.apache.xpath.internal.operations.Bool;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
  * @author Eric
  */
 public abstract class AbstractConsole implements Console, Disposable {
+    /**
+     * Maximum number of entries logged from other threads between two calls of {@link #drainLogQueue()}.
+     */
+    public static final int LOG_QUEUE_CAPACITY = 4096;
+    /**
+     * Maximum number of scripts run by {@link #execScript(FileHandle, boolean)} inside each other, so a script that runs itself stops.
+     */
+    public static final int MAX_SCRIPT_DEPTH = 8;
+
     protected final Log log;
-    protected boolean logToSystem;
+    protected final SystemLogSink systemLogSink;
+    protected final Array<LogSink> logSinks;
+    // copy of logSinks, replaced whenever a sink is added or removed so other threads can read it
+    private volatile LogSink[] sinks;
 
     protected boolean disabled;
 
@@ -47,34 +61,211 @@ public abstract class AbstractConsole implements Console, Disposable {
     protected boolean consoleTrace = false;
 
     protected HashMap<String, ICommandContainer> _commandContainers;
+    final CommandNameMap<CommandIndex> _commandIndices;
+    final CompletionIndex _prefixCompletions;
+    private final CommandTokenizer tokenizer;
+    protected final ArgumentConverters argumentConverters;
+
+    /**
+     * Entries logged from threads other than {@link #logThread}, until {@link #drainLogQueue()} writes them to the sinks.
+     */
+    private final LogQueue logQueue;
+    private final Thread logThread;
+    private volatile BackpressurePolicy logQueuePolicy = BackpressurePolicy.COALESCE;
+
+    private Executor asyncExecutor;
+    private ExecutorService defaultExecutor;
+    private long asyncCommandTimeout;
+    // result of the command run by execute(), which gets all output instead of the sinks; only used by the console's thread
+    private CommandResult capture;
+    // reused by every execCommand() that is not nested in another one
+    private final CommandResult commandResult = new CommandResult();
+    private boolean executing;
+    // number of scripts currently running inside each other
+    private int scriptDepth;
+    // async commands with a timeout, only used by the console's thread
+    private final Array<CommandFuture> timedCommands = new Array<>(CommandFuture.class);
 
     public AbstractConsole() {
         log = new Log();
+        systemLogSink = new SystemLogSink();
+        systemLogSink.setEnabled(false);
+        logSinks = new Array<>(LogSink.class);
+        logSinks.add(log);
+        logSinks.add(systemLogSink);
+        sinks = logSinks.toArray();
         _commandContainers = new HashMap<>();
+        _commandIndices = new CommandNameMap<>();
+        _prefixCompletions = new CompletionIndex();
+        tokenizer = new CommandTokenizer();
+        argumentConverters = new ArgumentConverters();
+        logQueue = new LogQueue(LOG_QUEUE_CAPACITY);
+        logThread = Thread.currentThread();
         addCommandContainer(new HelpCommands(this));
+        addCommandContainer(new ScriptCommands(this));
     }
 
     @Override
     public void setLoggingToSystem(Boolean log) {
-        this.logToSystem = log;
+        systemLogSink.setEnabled(log);
+    }
+
+    @Override
+    public void addLogSink(LogSink sink) {
+        if (!logSinks.contains(sink, true)) {
+            logSinks.add(sink);
+            sinks = logSinks.toArray();
+        }
+    }
+
+    @Override
+    public void removeLogSink(LogSink sink) {
+        if (logSinks.removeValue(sink, true)) {
+            sinks = logSinks.toArray();
+        }
+    }
+
+    @Override
+    public Log getLog() {
+        return log;
+    }
+
+    @Override
+    public SystemLogSink getSystemLogSink() {
+        return systemLogSink;
+    }
+
+    /**
+     * @return If any sink accepts the level. If not, there is no need to build the message.
+     */
+    protected boolean isLogged(LogLevel level) {
+        for (LogSink sink : sinks) {
+            if (sink.accepts(level)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public void log(String msg, LogLevel level) {
-        log.addEntry(msg, level);
-
-        if (logToSystem) {
-            switch (level) {
-                case ERROR:
-                    System.err.println("> " + msg);
-                    break;
-                default:
-                    System.out.println("> " + msg);
-                    break;
+        if (!isLogged(level)) {
+            return;
+        }
+        log(new LogEntry(msg, level));
+    }
+
+    @Override
+    public void log(LogLevel level, String pattern, Object... args) {
+        if (isLogged(level)) {
+            log(new LogEntry(level, pattern, args));
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, Supplier<String> message) {
+        if (isLogged(level)) {
+            log(new LogEntry(level, message));
+        }
+    }
+
+    @Override
+    public void setLogQueuePolicy(BackpressurePolicy policy) {
+        logQueuePolicy = policy;
+    }
+
+    /**
+     * Passes the entry to every sink that accepts its level. Entries logged from another thread than the one that created the console
+     * are tagged with the name of their thread and written to {@link LogSink#isThreadSafe() thread-safe} sinks right away; for all
+     * other sinks they are queued until {@link #drainLogQueue()} is called. While a command runs through
+     * {@link #execute(String, CommandResult)}, entries are added to its result instead.
+     */
+    protected void log(LogEntry entry) {
+        Thread thread = Thread.currentThread();
+        LogLevel level = entry.getLevel();
+        if (thread != logThread) {
+            entry.threadTag = thread.getName();
+            boolean queued = false;
+            for (LogSink sink : sinks) {
+                if (!sink.accepts(level)) {
+                    continue;
+                }
+                if (sink.isThreadSafe()) {
+                    sink.write(entry);
+                } else {
+                    queued = true;
+                }
+            }
+            if (queued) {
+                queue(entry);
+            }
+            return;
+        }
+        if (capture != null) {
+            capture.capture(entry);
+            return;
+        }
+        for (LogSink sink : sinks) {
+            if (sink.accepts(level)) {
+                sink.write(entry);
             }
         }
     }
 
+    private void queue(LogEntry entry) {
+        if (logQueue.offer(entry)) {
+            return;
+        }
+        if (logQueuePolicy == BackpressurePolicy.BLOCK) {
+            while (!Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(100000);
+                if (logQueue.offer(entry)) {
+                    return;
+                }
+            }
+        }
+        logQueue.drop();
+    }
+
+    /**
+     * Writes all entries queued by other threads to the sinks that are not thread-safe, in the order they were queued. Must be called from
+     * the thread that created the console.
+     *
+     * @return The number of entries written, including the note about dropped entries.
+     */
+    protected int drainLogQueue() {
+        int written = 0;
+        // producers may keep adding entries, stop after one full queue so this always returns
+        for (int i = logQueue.capacity(); i > 0; i--) {
+            LogEntry entry = logQueue.poll();
+            if (entry == null) {
+                break;
+            }
+            LogLevel level = entry.getLevel();
+            for (LogSink sink : sinks) {
+                // thread-safe sinks got the entry when it was logged
+                if (!sink.isThreadSafe() && sink.accepts(level)) {
+                    sink.write(entry);
+                }
+            }
+            written++;
+        }
+        int dropped = logQueue.takeDropped();
+        if (dropped > 0 && logQueuePolicy == BackpressurePolicy.COALESCE) {
+            log(new LogEntry("[" + dropped + " log entries dropped, queue was full]", LogLevel.ERROR));
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * @return If the current thread is the one that created the console, which is the only one writing to sinks that are not
+     * thread-safe.
+     */
+    protected boolean isLogThread() {
+        return Thread.currentThread() == logThread;
+    }
+
     @Override
     public void log(String msg) {
         this.log(msg, LogLevel.DEFAULT);
@@ -82,6 +273,9 @@ public abstract class AbstractConsole implements Console, Disposable {
 
     @Override
     public void log(Throwable exception, LogLevel level) {
+        if (!isLogged(level)) {
+            return;
+        }
         this.log(ConsoleUtils.exceptionToString(exception), level);
     }
 
@@ -97,7 +291,12 @@ public abstract class AbstractConsole implements Console, Disposable {
 
     @Override
     public void printLogToFile(FileHandle fh) {
-        if (log.printToFile(fh)) {
+        this.printLogToFile(fh, false);
+    }
+
+    @Override
+    public void printLogToFile(FileHandle fh, boolean append) {
+        if (log.printToFile(fh, append)) {
             log("Successfully wrote logs to file.", LogLevel.SUCCESS);
         } else {
             log("Unable to write logs to file.", LogLevel.ERROR);
@@ -116,12 +315,34 @@ public abstract class AbstractConsole implements Console, Disposable {
 
     @Override
     public void addCommandContainer(ICommandContainer commandExecutor) {
-        _commandContainers.put(commandExecutor.getCommandPrefix().trim().toLowerCase(), commandExecutor);
+        String prefix = CommandNameMap.toLowerCase(commandExecutor.getCommandPrefix().trim());
+        _commandContainers.put(prefix, commandExecutor);
+        _commandIndices.put(prefix, new CommandIndex(commandExecutor, argumentConverters));
+        updatePrefixCompletions();
     }
 
     @Override
     public void removeCommandContainer(ICommandContainer commandExecutor) {
-        _commandContainers.remove(commandExecutor.getCommandPrefix());
+        String prefix = CommandNameMap.toLowerCase(commandExecutor.getCommandPrefix().trim());
+        _commandContainers.remove(prefix);
+        _commandIndices.remove(prefix);
+        updatePrefixCompletions();
+    }
+
+    private void updatePrefixCompletions() {
+        Array<String> prefixes = new Array<>(String.class);
+        for (int i = 0; i < _commandIndices.size(); i++) {
+            prefixes.add(_commandIndices.valueAt(i).getContainer().getCommandPrefix().trim());
+        }
+        _prefixCompletions.set(prefixes);
+    }
+
+    @Override
+    public void registerArgumentConverter(Class<?> type, ArgumentConverter converter) {
+        argumentConverters.register(type, converter);
+        for (int i = 0; i < _commandIndices.size(); i++) {
+            _commandIndices.valueAt(i).resolveConverters(argumentConverters);
+        }
     }
 
     public String[] getCommandContainerPrefixes() {
@@ -133,91 +354,325 @@ public abstract class AbstractConsole implements Console, Disposable {
     }
 
     @Override
-    public void execCommand(String commandString) {
-        if (disabled)
-            return;
+    public void setAsyncExecutor(Executor executor) {
+        asyncExecutor = executor;
+    }
+
+    @Override
+    public void setAsyncCommandTimeout(long millis) {
+        asyncCommandTimeout = millis;
+    }
+
+    @Override
+    public CommandResult execCommand(String commandString) {
+        // a command executing another command must not overwrite the result of the outer one
+        CommandResult result = executing ? new CommandResult() : commandResult;
+        result.reset(commandString);
+        if (disabled) {
+            result.status = CommandResult.Status.DISABLED;
+            return result;
+        }
 
         log(commandString, LogLevel.COMMAND);
 
-        String[] commandStringParts = commandString.split(" ");
+        boolean outer = executing;
+        executing = true;
+        try {
+            run(commandString, result);
+        } finally {
+            executing = outer;
+        }
+        return result;
+    }
+
+    @Override
+    public CommandResult execute(String command) {
+        return execute(command, new CommandResult());
+    }
 
+    @Override
+    public CommandResult execute(String command, CommandResult result) {
+        result.reset(command);
+        if (disabled) {
+            result.status = CommandResult.Status.DISABLED;
+            return result;
+        }
+        CommandResult outer = capture;
+        capture = result;
+        try {
+            run(command, result);
+        } finally {
+            capture = outer;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean execScript(FileHandle file, boolean echo) {
+        if (disabled) {
+            return false;
+        }
+        if (scriptDepth >= MAX_SCRIPT_DEPTH) {
+            log(LogLevel.ERROR, "Not running script {}, scripts are nested more than {} deep.", file.path(), MAX_SCRIPT_DEPTH);
+            return false;
+        }
 
-        String commandContainerName = commandStringParts[0].toLowerCase().trim();
-        String command = null;
-        if (commandStringParts.length > 1) {
-            command = commandStringParts[1].toLowerCase().trim();
+        scriptDepth++;
+        boolean success = true;
+        CommandResult result = new CommandResult();
+        try (BufferedReader reader = file.reader(8192, "UTF-8")) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int end = line.length();
+                int start = 0;
+                while (start < end) {
+                    int next = findStatementEnd(line, start, end);
+                    if (!runScriptStatement(line, start, next < 0 ? ~next : next, echo, result)) {
+                        success = false;
+                        log(LogLevel.ERROR, "{}:{}: {}", file.name(), lineNumber, result.command);
+                    }
+                    if (next < 0) {
+                        break;
+                    }
+                    start = next + 1;
+                }
+            }
+        } catch (IOException | GdxRuntimeException e) {
+            log(LogLevel.ERROR, "Could not read script {}: {}", file.path(), e.getMessage());
+            success = false;
+        } finally {
+            scriptDepth--;
+        }
+        return success;
+    }
+
+    /**
+     * @return The index of the {@code ;} that ends the statement starting at {@code start}, or the bitwise complement of the index
+     * the statement ends at if it is the last one on the line, i.e. at the end of the line or at a comment.
+     */
+    private static int findStatementEnd(String line, int start, int end) {
+        char quote = 0;
+        boolean tokenStart = true;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                // same escaping as the tokenizer
+                i++;
+                tokenStart = false;
+            } else if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                tokenStart = false;
+            } else if (c == ';') {
+                return i;
+            } else if (tokenStart && (c == '#' || (c == '/' && i + 1 < end && line.charAt(i + 1) == '/'))) {
+                return ~i;
+            } else {
+                tokenStart = Character.isWhitespace(c);
+            }
         }
+        return ~end;
+    }
 
-        String[] commandArgs = Arrays.stream(commandStringParts).skip(2).toArray(String[]::new);
+    /**
+     * Runs one statement of a script, skipping it if it is blank.
+     *
+     * @return If the statement is blank or the command was executed or started.
+     */
+    private boolean runScriptStatement(String line, int start, int end, boolean echo, CommandResult result) {
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return true;
+        }
+        String command = line.substring(start, end);
+        if (echo) {
+            log(command, LogLevel.COMMAND);
+        }
+        result.reset(command);
+        run(command, result);
+        return result.status == CommandResult.Status.SUCCESS || result.status == CommandResult.Status.STARTED;
+    }
+
+    /**
+     * Resolves and runs the command, filling in the result.
+     */
+    private void run(String commandString, CommandResult result) {
+        long start = System.nanoTime();
+        CommandTokenizer tokens = tokenizer;
+        CommandIndex index = null;
+        if (tokens.tokenize(commandString) > 0) {
+            index = _commandIndices.get(tokens.getBuffer(), tokens.getStart(0), tokens.getEnd(0));
+        }
 
-        if (_commandContainers.containsKey(commandContainerName)) {
-            ICommandContainer container = _commandContainers.get(commandContainerName);
-            if (command != null) {
-                execCommand(container, command, commandArgs);
+        if (index != null) {
+            if (tokens.size() > 1) {
+                execCommand(index, tokens, result);
             } else {
-                execCommand(container);
+                execCommand(index.getContainer());
+                result.status = CommandResult.Status.SUCCESS;
             }
         } else {
-            log("No such method found.", LogLevel.ERROR);
+            fail(result, CommandResult.Status.NOT_FOUND);
         }
+        result.duration = System.nanoTime() - start;
     }
 
     private void execCommand(ICommandContainer exec) {
         exec.defaultConsoleCommand();
     }
 
-    private void execCommand(ICommandContainer exec, String command, String[] stringArgs) {
+    /**
+     * Resolves and invokes the command. All arguments are converted before the method is invoked, so a command may execute other
+     * commands, which reuses the tokenizer.
+     */
+    private void execCommand(CommandIndex index, CommandTokenizer tokens, CommandResult result) {
+        CommandIndex.Overloads overloads = index.get(tokens.getBuffer(), tokens.getStart(1), tokens.getEnd(1));
+        if (overloads == null || (overloads.isAllHidden() && !executeHiddenCommands)) {
+            fail(result, CommandResult.Status.NOT_FOUND);
+            return;
+        }
 
-        Method[] availableMethods = ConsoleUtils.getAllMethods(exec, command)
-                .filter(x -> ConsoleUtils.canExecuteCommand(this, x))
-                .toArray(Method[]::new);
+        CommandMethod best = null;
+        int bestScore = -1;
+        for (CommandMethod method : overloads.get(tokens.size() - 2)) {
+            if (!ConsoleUtils.canExecuteCommand(this, method)) {
+                continue;
+            }
+            int score = method.matchArguments(tokens, 2);
+            if (score > bestScore) {
+                best = method;
+                bestScore = score;
+            }
+        }
+        if (best == null) {
+            fail(result, CommandResult.Status.BAD_PARAMETERS);
+            return;
+        }
 
-        if (availableMethods.length <= 0) {
-            log("No such method found.", LogLevel.ERROR);
+        result.method = best;
+        if (best.isAsync()) {
+            result.future = new CommandFuture(result.command);
+            result.status = CommandResult.Status.STARTED;
+            execAsync(index.getContainer(), best, result.future);
             return;
         }
+        try {
+            result.value = best.invoke(index.getContainer(), best.getArguments());
+            result.status = CommandResult.Status.SUCCESS;
+        } catch (ReflectionException e) {
+            logError(e);
+            result.status = CommandResult.Status.ERROR;
+            result.error = e.getCause() != null ? e.getCause() : e;
+        }
+    }
 
-        for (Method method : availableMethods) {
-            try {
-                Object[] args = null;
-                try {
-                    args = ConsoleUtils.parseCommandArgs(method, stringArgs);
-                } catch (Exception e) {
-                    continue;
+    /**
+     * Runs the command on the async executor. Its output reaches the sinks through the log queue.
+     */
+    private void execAsync(final ICommandContainer container, final CommandMethod method, final CommandFuture future) {
+        // the arguments of a method are reused by the next command
+        final Object[] args = method.getArguments().clone();
+        if (asyncCommandTimeout > 0) {
+            future.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(asyncCommandTimeout);
+            timedCommands.add(future);
+        }
+        Executor executor = asyncExecutor;
+        if (executor == null) {
+            if (defaultExecutor == null) {
+                defaultExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "Console command");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            executor = defaultExecutor;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!future.start()) {
+                        return;
+                    }
+                    try {
+                        future.complete(method.invoke(container, args));
+                    } catch (ReflectionException e) {
+                        logError(e);
+                        future.fail(e.getCause() != null ? e.getCause() : e);
+                    }
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            String message = "Could not start command, the executor rejected it.";
+            log(message, LogLevel.ERROR);
+            future.fail(new IllegalStateException(message, e));
+        }
+    }
 
-                method.setAccessible(true);
-                method.invoke(exec, args);
-                return;
-            } catch (ReflectionException e) {
-                String msg = e.getMessage();
-                if (msg == null || msg.length() <= 0) {
-                    msg = "Unknown Error";
-                    e.printStackTrace();
-                }
-                log(msg, LogLevel.ERROR);
-                if (consoleTrace) {
-                    log(e, LogLevel.ERROR);
+    private void logError(ReflectionException e) {
+        String msg = e.getMessage();
+        if (msg == null || msg.length() <= 0) {
+            msg = "Unknown Error";
+            e.printStackTrace();
+        }
+        log(msg, LogLevel.ERROR);
+        if (consoleTrace) {
+            log(e, LogLevel.ERROR);
+        }
+    }
+
+    private void fail(CommandResult result, CommandResult.Status status) {
+        result.status = status;
+        log(status.getMessage(), LogLevel.ERROR);
+    }
+
+    /**
+     * Cancels async commands that ran longer than the {@link #setAsyncCommandTimeout(long) timeout}. Must be called from the thread that
+     * created the console.
+     */
+    protected void cancelTimedOutCommands() {
+        if (timedCommands.size == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (int i = timedCommands.size - 1; i >= 0; i--) {
+            CommandFuture future = timedCommands.get(i);
+            if (future.isDone()) {
+                timedCommands.removeIndex(i);
+            } else if (now - future.deadline >= 0) {
+                timedCommands.removeIndex(i);
+                if (future.cancel(true)) {
+                    log("Command timed out: " + future.getCommand(), LogLevel.ERROR);
                 }
-                return;
             }
-
         }
-        log("Bad parameters. Check your code.", LogLevel.ERROR);
     }
 
     @Override
     public void printCommands() {
-        for (ICommandContainer container : _commandContainers.values()) {
+        for (int i = 0; i < _commandIndices.size(); i++) {
+            CommandIndex index = _commandIndices.valueAt(i);
             StringBuilder s = new StringBuilder()
-                    .append(container.getCommandPrefix())
+                    .append(index.getContainer().getCommandPrefix())
                     .append(":\n");
 
 
             boolean display = false;
-            Method[] methods = ConsoleUtils.getAllMethods(container).toArray(Method[]::new);
-            for (Method method : methods) {
-                if (method.isPublic() && ConsoleUtils.canDisplayCommand(this, method)) {
+            for (CommandMethod method : index.getMethods()) {
+                if (ConsoleUtils.canDisplayCommand(this, method)) {
                     s.append("       ")
                             .append(" ")
                             .append(method.getName());
@@ -234,37 +689,14 @@ public abstract class AbstractConsole implements Console, Disposable {
 
     @Override
     public void printHelp(String commandContainerName) {
-        String normName = commandContainerName.trim().toLowerCase();
-        if (_commandContainers.containsKey(normName)) {
-            ICommandContainer container = _commandContainers.get(normName);
+        String normName = CommandNameMap.toLowerCase(commandContainerName.trim());
+        CommandIndex index = _commandIndices.get(normName);
+        if (index != null) {
             StringBuilder sb = new StringBuilder()
                     .append("Help for ")
-                    .append(container.getCommandPrefix())
-                    .append(":\n\n");
-
-            Method[] methods = ConsoleUtils.getAllMethods(container).toArray(Method[]::new);
-            for (Method method : methods) {
-                Annotation annotation = method.getDeclaredAnnotation(ConsoleDoc.class);
-                sb.append("-").append(method.getName());
-                ConsoleUtils.methodParamsToString(method, sb)
-                        .append(":\n");
-
-
-                if (annotation != null) {
-                    ConsoleDoc doc = annotation.getAnnotation(ConsoleDoc.class);
-                    sb.append(doc.description()).append("\n\n");
-
-                    Class<?>[] params = method.getParameterTypes();
-                    for (int i = 0; i < params.length; i++) {
-                        for (int j = 0; j < method.getName().length() + 2; j++)
-                            // using spaces this way works with monotype fonts
-                            sb.append(" ");
-                        sb.append(params[i].getSimpleName()).append(": ");
-                        if (i < doc.paramDescriptions().length)
-                            sb.append(doc.paramDescriptions()[i]);
-                    }
-                }
-            }
+                    .append(index.getContainer().getCommandPrefix())
+                    .append(":\n\n")
+                    .append(index.getHelp());
             log(sb.toString());
         } else {
             log("Bad parameters. Check your code.", LogLevel.ERROR);
@@ -331,6 +763,8 @@ public abstract class AbstractConsole implements Console, Disposable {
 
     @Override
     public void draw() {
+        drainLogQueue();
+        cancelTimedOutCommands();
     }
 
     @Override
@@ -357,6 +791,14 @@ public abstract class AbstractConsole implements Console, Disposable {
 
     @Override
     public void dispose() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdownNow();
+        }
+        for (LogSink sink : logSinks) {
+            if (sink instanceof Disposable) {
+                ((Disposable) sink).dispose();
+            }
+        }
     }
 
     @Override
@@ -404,6 +846,10 @@ public abstract class AbstractConsole implements Console, Disposable {
     public void setSubmitText(String text) {
     }
 
+    @Override
+    public void enableFontCacheRendering(boolean enable) {
+    }
+
     @Override
     public Window getWindow() {
         return null;
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * {@link LogSink} with a configurable set of accepted {@link LogLevel}s. Accepts all levels by default.
+ */
+public abstract class AbstractLogSink implements LogSink {
+    private volatile int levels = ~0;
+
+    @Override
+    public boolean accepts(LogLevel level) {
+        return (levels & (1 << level.ordinal())) != 0;
+    }
+
+    /**
+     * @param levels The only levels to accept. None to disable the sink.
+     */
+    public void setLevels(LogLevel... levels) {
+        int mask = 0;
+        for (LogLevel level : levels) {
+            mask |= 1 << level.ordinal();
+        }
+        this.levels = mask;
+    }
+
+    public void setLevelEnabled(LogLevel level, boolean enabled) {
+        if (enabled) {
+            levels |= 1 << level.ordinal();
+        } else {
+            levels &= ~(1 << level.ordinal());
+        }
+    }
+
+    /**
+     * @param enabled True to accept all levels, false to accept none.
+     */
+    public void setEnabled(boolean enabled) {
+        levels = enabled ? ~0 : 0;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * Converts a single command argument to the type of a command parameter. Register custom converters with
+ * {@link Console#registerArgumentConverter(Class, ArgumentConverter)}.
+ * <p>
+ * Converters must not throw for malformed input; they return {@link #FAILED} instead, so trying an overload that does not match is
+ * cheap.
+ */
+public interface ArgumentConverter {
+    /**
+     * Returned by {@link #convert(CharSequence, int, int)} if the argument cannot be converted.
+     */
+    Object FAILED = new Object();
+
+    /**
+     * @param text  The text containing the argument.
+     * @param start Index of the first character of the argument.
+     * @param end   Index after the last character of the argument.
+     * @return The converted value, or {@link #FAILED}.
+     */
+    Object convert(CharSequence text, int start, int end);
+
+    /**
+     * How specific this converter is. When several overloads of a command accept the arguments, the one with the highest sum of
+     * scores is executed, e.g. {@code 5} calls {@code set(int)} rather than {@code set(String)}.
+     *
+     * @return A positive score.
+     */
+    int getMatchScore();
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Registry of the {@link ArgumentConverter}s of a console, keyed by parameter type. Supports {@link String}, {@link Boolean},
+ * {@link Byte}, {@link Short}, {@link Integer}, {@link Long}, {@link Float} and {@link Double} (and their primitives) by default.
+ */
+public class ArgumentConverters {
+    public static final int SCORE_STRING = 1;
+    public static final int SCORE_DECIMAL = 2;
+    public static final int SCORE_EXACT = 3;
+
+    private final ObjectMap<Class<?>, ArgumentConverter> converters = new ObjectMap<>();
+
+    public ArgumentConverters() {
+        register(String.class, new StringConverter());
+        register(Boolean.class, new BooleanConverter());
+        register(boolean.class, new BooleanConverter());
+        register(Byte.class, new IntegerConverter(byte.class, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        register(byte.class, new IntegerConverter(byte.class, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        register(Short.class, new IntegerConverter(short.class, Short.MIN_VALUE, Short.MAX_VALUE));
+        register(short.class, new IntegerConverter(short.class, Short.MIN_VALUE, Short.MAX_VALUE));
+        register(Integer.class, new IntegerConverter(int.class, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        register(int.class, new IntegerConverter(int.class, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        register(Long.class, new IntegerConverter(long.class, Long.MIN_VALUE, Long.MAX_VALUE));
+        register(long.class, new IntegerConverter(long.class, Long.MIN_VALUE, Long.MAX_VALUE));
+        register(Float.class, new DecimalConverter(false));
+        register(float.class, new DecimalConverter(false));
+        register(Double.class, new DecimalConverter(true));
+        register(double.class, new DecimalConverter(true));
+    }
+
+    /**
+     * @param type      The parameter type.
+     * @param converter The converter, replaces any previous one for that type.
+     */
+    public void register(Class<?> type, ArgumentConverter converter) {
+        if (converter == null) {
+            throw new IllegalArgumentException("Converter cannot be null.");
+        }
+        converters.put(type, converter);
+    }
+
+    /**
+     * @return The converter for the type, or null if the type is not supported.
+     */
+    public ArgumentConverter get(Class<?> type) {
+        return converters.get(type);
+    }
+
+    static class StringConverter implements ArgumentConverter {
+        @Override
+        public Object convert(CharSequence text, int start, int end) {
+            return text.subSequence(start, end).toString();
+        }
+
+        @Override
+        public int getMatchScore() {
+            return SCORE_STRING;
+        }
+    }
+
+    static class BooleanConverter implements ArgumentConverter {
+        @Override
+        public Object convert(CharSequence text, int start, int end) {
+            if (regionEqualsIgnoreCase(text, start, end, "true")) {
+                return Boolean.TRUE;
+            } else if (regionEqualsIgnoreCase(text, start, end, "false")) {
+                return Boolean.FALSE;
+            }
+            return FAILED;
+        }
+
+        @Override
+        public int getMatchScore() {
+            return SCORE_EXACT;
+        }
+    }
+
+    static class IntegerConverter implements ArgumentConverter {
+        private final Class<?> type;
+        private final long min, max;
+
+        IntegerConverter(Class<?> type, long min, long max) {
+            this.type = type;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public Object convert(CharSequence text, int start, int end) {
+            int i = start;
+            if (i >= end) {
+                return FAILED;
+            }
+            boolean negative = false;
+            char first = text.charAt(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                if (++i == end) {
+                    return FAILED;
+                }
+            }
+
+            // accumulate negatively, like Long.parseLong, so the minimum value does not overflow
+            long limit = negative ? min : -max;
+            long multiplyLimit = limit / 10;
+            long result = 0;
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                    return FAILED;
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return FAILED;
+                }
+                result -= digit;
+            }
+            long value = negative ? result : -result;
+
+            if (type == byte.class) {
+                return (byte) value;
+            } else if (type == short.class) {
+                return (short) value;
+            } else if (type == int.class) {
+                return (int) value;
+            }
+            return value;
+        }
+
+        @Override
+        public int getMatchScore() {
+            return SCORE_EXACT;
+        }
+    }
+
+    static class DecimalConverter implements ArgumentConverter {
+        private final boolean doublePrecision;
+
+        DecimalConverter(boolean doublePrecision) {
+            this.doublePrecision = doublePrecision;
+        }
+
+        @Override
+        public Object convert(CharSequence text, int start, int end) {
+            // parsing only accepts the exact case of NaN and Infinity
+            int i = start;
+            boolean negative = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negative = text.charAt(i) == '-';
+                i++;
+            }
+            if (regionEqualsIgnoreCase(text, i, end, "NaN")) {
+                return doublePrecision ? (Object) Double.NaN : (Object) Float.NaN;
+            }
+            if (regionEqualsIgnoreCase(text, i, end, "Infinity")) {
+                double value = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+                return doublePrecision ? (Object) value : (Object) (float) value;
+            }
+            if (!isDecimal(text, start, end)) {
+                return FAILED;
+            }
+            String value = text.subSequence(start, end).toString();
+            return doublePrecision ? (Object) Double.parseDouble(value) : (Object) Float.parseFloat(value);
+        }
+
+        @Override
+        public int getMatchScore() {
+            return SCORE_DECIMAL;
+        }
+
+        /**
+         * Checks the syntax accepted by {@link Double#parseDouble(String)} for plain decimal numbers, so parsing never throws.
+         */
+        static boolean isDecimal(CharSequence text, int start, int end) {
+            int i = start;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                i++;
+            }
+            if (regionEqualsIgnoreCase(text, i, end, "NaN") || regionEqualsIgnoreCase(text, i, end, "Infinity")) {
+                return true;
+            }
+
+            int digits = 0;
+            while (i < end && isDigit(text.charAt(i))) {
+                i++;
+                digits++;
+            }
+            if (i < end && text.charAt(i) == '.') {
+                i++;
+                while (i < end && isDigit(text.charAt(i))) {
+                    i++;
+                    digits++;
+                }
+            }
+            if (digits == 0) {
+                return false;
+            }
+            if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+                i++;
+                if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                    i++;
+                }
+                int exponentDigits = 0;
+                while (i < end && isDigit(text.charAt(i))) {
+                    i++;
+                    exponentDigits++;
+                }
+                if (exponentDigits == 0) {
+                    return false;
+                }
+            }
+            if (i < end && "fFdD".indexOf(text.charAt(i)) >= 0) {
+                i++;
+            }
+            return i == end;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+
+    static boolean regionEqualsIgnoreCase(CharSequence text, int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != Character.toLowerCase(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
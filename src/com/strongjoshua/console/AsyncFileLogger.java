@@ -0,0 +1,307 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link LogSink} that continuously writes log entries to a file from a background thread, so the thread that logs never waits for the
+ * disk. Entries are handed over through a bounded queue and written in batches.
+ * <p>
+ * The file can be rotated once it reaches a size or age: the current file is renamed to {@code name-1.ext}, {@code name-2.ext}, ...
+ * (optionally gzipped) and a new file is started. Call {@link #dispose()} to write all queued entries and stop the thread.
+ */
+public class AsyncFileLogger extends AbstractLogSink implements Disposable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private final File file;
+    private final ArrayBlockingQueue<LogEntry> queue;
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private volatile BackpressurePolicy backpressurePolicy = BackpressurePolicy.COALESCE;
+    private volatile long maxFileSize;
+    private volatile long rotationInterval;
+    private volatile boolean compressRotated;
+    private volatile int maxBatchSize = 256;
+
+    // only used by the writer thread
+    private Writer writer;
+    private CountingOutputStream counter;
+    private long segmentStart;
+    private int segmentIndex;
+
+    /**
+     * @param file The file to write to. Its contents are kept and appended to.
+     */
+    public AsyncFileLogger(FileHandle file) {
+        this(file, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param file          The file to write to. Its contents are kept and appended to.
+     * @param queueCapacity Maximum number of entries waiting to be written.
+     */
+    public AsyncFileLogger(FileHandle file, int queueCapacity) {
+        if (file.isDirectory()) {
+            throw new IllegalArgumentException("File cannot be a directory!");
+        }
+        this.file = file.file().getAbsoluteFile();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "Console file logger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @param policy What to do when the queue is full. Default is {@link BackpressurePolicy#COALESCE}.
+     */
+    public void setBackpressurePolicy(BackpressurePolicy policy) {
+        backpressurePolicy = policy;
+    }
+
+    /**
+     * @param bytes Rotate the file once it grew to this size. 0 (default) to never rotate by size.
+     */
+    public void setMaxFileSize(long bytes) {
+        maxFileSize = bytes;
+    }
+
+    /**
+     * @param millis Rotate the file once it was written to for this long. 0 (default) to never rotate by time.
+     */
+    public void setRotationInterval(long millis) {
+        rotationInterval = millis;
+    }
+
+    /**
+     * @param compress True to gzip rotated files.
+     */
+    public void setCompressRotated(boolean compress) {
+        compressRotated = compress;
+    }
+
+    /**
+     * @param size Maximum number of entries written before the file is flushed.
+     */
+    public void setMaxBatchSize(int size) {
+        maxBatchSize = Math.max(1, size);
+    }
+
+    /**
+     * @return Entries dropped so far because the queue was full.
+     */
+    public int getDroppedEntries() {
+        return dropped.get();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Queues the entry for writing. Can be called from any thread. Lazy messages are formatted right away, so their suppliers and
+     * arguments are read on the thread that logged them and not on the writer thread.
+     */
+    @Override
+    public void write(LogEntry entry) {
+        if (!running) {
+            return;
+        }
+        entry.getText();
+        if (queue.offer(entry)) {
+            return;
+        }
+        if (backpressurePolicy == BackpressurePolicy.BLOCK) {
+            try {
+                queue.put(entry);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * Writes all queued entries, closes the file and stops the writer thread. Blocks until done.
+     */
+    @Override
+    public void dispose() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        ArrayList<LogEntry> batch = new ArrayList<>();
+        StringBuilder line = new StringBuilder(128);
+        char[] lineChars = new char[128];
+        int reportedDropped = 0;
+        try {
+            while (running || !queue.isEmpty()) {
+                LogEntry first = null;
+                try {
+                    first = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // woken up by dispose, write what is left
+                }
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+
+                if (writer != null && shouldRotate()) {
+                    rotate();
+                }
+                int droppedNow = dropped.get();
+                boolean reportDropped = droppedNow != reportedDropped && backpressurePolicy == BackpressurePolicy.COALESCE;
+                if (batch.isEmpty() && !reportDropped) {
+                    continue;
+                }
+                if (writer == null) {
+                    open();
+                }
+
+                if (reportDropped) {
+                    writer.write("[" + (droppedNow - reportedDropped) + " log entries dropped, queue was full]\n");
+                }
+                reportedDropped = droppedNow;
+
+                for (int i = 0, n = batch.size(); i < n; i++) {
+                    line.setLength(0);
+                    batch.get(i).appendTo(line);
+                    line.append('\n');
+
+                    int length = line.length();
+                    if (lineChars.length < length) {
+                        lineChars = new char[Math.max(length, lineChars.length * 2)];
+                    }
+                    line.getChars(0, length, lineChars, 0);
+                    writer.write(lineChars, 0, length);
+                }
+                batch.clear();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            running = false;
+            queue.clear();
+        } finally {
+            close();
+        }
+    }
+
+    private boolean shouldRotate() {
+        long size = maxFileSize;
+        long interval = rotationInterval;
+        return (size > 0 && counter.count >= size)
+                || (interval > 0 && counter.count > 0 && System.currentTimeMillis() - segmentStart >= interval);
+    }
+
+    private void open() throws IOException {
+        counter = new CountingOutputStream(new FileOutputStream(file, true), file.length());
+        writer = new BufferedWriter(new OutputStreamWriter(counter, "UTF-8"));
+        segmentStart = System.currentTimeMillis();
+    }
+
+    private void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            writer = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        File rotated;
+        do {
+            segmentIndex++;
+            rotated = new File(file.getParentFile(), base + "-" + segmentIndex + extension);
+        } while (rotated.exists() || new File(rotated.getPath() + ".gz").exists());
+
+        if (!file.renameTo(rotated)) {
+            throw new IOException("Could not rotate log file to " + rotated);
+        }
+        if (compressRotated) {
+            compress(rotated);
+        }
+    }
+
+    private static void compress(File source) throws IOException {
+        File target = new File(source.getPath() + ".gz");
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(source);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(target), buffer.length)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        if (!source.delete()) {
+            throw new IOException("Could not delete " + source + " after compressing it.");
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out, long count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
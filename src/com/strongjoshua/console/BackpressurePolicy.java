@@ -0,0 +1,33 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * What happens when entries are handed to a bounded queue faster than its consumer takes them, used for the queue of entries logged to
+ * a console from other threads ({@link Console#setLogQueuePolicy(BackpressurePolicy)}) and for the queue of an
+ * {@link AsyncFileLogger} ({@link AsyncFileLogger#setBackpressurePolicy(BackpressurePolicy)}).
+ */
+public enum BackpressurePolicy {
+    /**
+     * Silently drop the entry. Never blocks.
+     */
+    DROP,
+    /**
+     * Wait until the consumer made room. Nothing is lost, but the logging thread stalls until the queue is drained.
+     */
+    BLOCK,
+    /**
+     * Drop the entry, but count it; the consumer logs a single line noting how many were lost. Never blocks.
+     */
+    COALESCE
+}
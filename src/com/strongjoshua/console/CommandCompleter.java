@@ -14,123 +14,195 @@
 package com.strongjoshua.console;
 
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectSet;
-import com.badlogic.gdx.utils.ObjectSet.ObjectSetIterator;
-import com.badlogic.gdx.utils.reflect.ClassReflection;
-import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.IntArray;
 import com.strongjoshua.console.annotation.ParameterOption;
-import com.strongjoshua.console.annotation.ParameterOptions;
-
-import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Completes the text in the console's input field. The candidates are collected once when completion starts and are then cycled
+ * through in sorted order, followed by the original text. Container prefixes and command names are looked up in the
+ * {@link CompletionIndex sorted indices} kept by the console, so no command container is reflected on. The text is split into words
+ * by a {@link CommandTokenizer}, so quoted arguments count as a single word just like when the command is executed.
+ * <p>
+ * The candidates are kept after cycling ends. If the text is completed again after more characters were typed at its end, the kept
+ * candidates are only filtered; they are collected again only if the text was changed before that or a new word was started.
+ */
 public class CommandCompleter {
-    private final ObjectSet<String> possibleCommands;
-    private ObjectSetIterator<String> iterator;
+    /**
+     * The number of options taken from an {@link IConsoleAutoCompleterProvider} for a single parameter.
+     */
+    static final int MAX_PROVIDED_OPTIONS = 100;
+
+    private final Array<String> possibleCommands;
+    private int next;
     private String setString;
+    private boolean collected, ignoreCase, cycling, truncated;
+    private final IntArray optionIds = new IntArray();
+    private final CommandTokenizer tokenizer = new CommandTokenizer();
 
     public CommandCompleter() {
-        possibleCommands = new ObjectSet<>();
+        possibleCommands = new Array<>(String.class);
         setString = "";
     }
 
-    public void completePrefix(Iterable<ICommandContainer> commandContainers, String start) {
-        for (ICommandContainer container : commandContainers) {
-            if (container.getCommandPrefix().toLowerCase().startsWith(start.toLowerCase())) {
-                possibleCommands.add(container.getCommandPrefix());
-            }
+    private void complete(CompletionIndex index, String start, String pref) {
+        String key = start.toLowerCase();
+        for (int i = index.first(key); index.matches(i, key); i++) {
+            possibleCommands.add(pref + index.get(i));
         }
     }
 
-    public void completeCommand(ICommandContainer commandContainer, String start, String pref) {
-        Method[] methods = ConsoleUtils.getAllMethods(commandContainer).toArray(Method[]::new);
-        for (Method m : methods) {
-            if (m.getName().startsWith(start)) {
-                possibleCommands.add(pref + " " + m.getName());
+    /**
+     * Adds the options of a parameter, as given by the container for the {@link ParameterOption} ids of the command's overloads.
+     */
+    private void completeParameter(ICommandContainer container, CommandIndex.Overloads overloads, int paramIndex, final String start,
+                                   final String pref) {
+        optionIds.clear();
+        for (CommandMethod method : overloads.getAll()) {
+            int id = method.getParameterOptionId(paramIndex);
+            if (id >= 0 && !optionIds.contains(id)) {
+                optionIds.add(id);
             }
         }
-    }
-
-    public void completeParameter(ICommandContainer commandContainer, String methodName, int paramIndex, String start, String pref) {
-        if (commandContainer instanceof IConsoleAutoCompleterSupport) {
-            Method[] methods = ConsoleUtils.getAllMethods(commandContainer, methodName).toArray(Method[]::new);
-            for (Method method : methods) {
-                ArrayList<ParameterOption> options = new ArrayList<>();
-
-                if (method.isAnnotationPresent(ParameterOptions.class)) {
-                    options.addAll(Arrays.asList(method
-                            .getDeclaredAnnotation(ParameterOptions.class)
-                            .getAnnotation(ParameterOptions.class)
-                            .value()));
+        for (int i = 0; i < optionIds.size; i++) {
+            int id = optionIds.get(i);
+            if (container instanceof IConsoleAutoCompleterProvider) {
+                final int limit = possibleCommands.size + MAX_PROVIDED_OPTIONS;
+                ((IConsoleAutoCompleterProvider) container).getAutocompleteOptions(id, start, MAX_PROVIDED_OPTIONS, option -> {
+                    if (possibleCommands.size >= limit) {
+                        truncated = true;
+                        return false;
+                    }
+                    if (option.startsWith(start)) {
+                        possibleCommands.add(pref + quote(option));
+                    }
+                    return true;
+                });
+            } else if (container instanceof IConsoleAutoCompleterSupport) {
+                for (String option : ((IConsoleAutoCompleterSupport) container).getAutocompleteOptions(id)) {
+                    if (option.startsWith(start)) {
+                        possibleCommands.add(pref + quote(option));
+                    }
                 }
-                if (method.isAnnotationPresent(ParameterOption.class)) {
-                    options.add(method
-                            .getDeclaredAnnotation(ParameterOption.class)
-                            .getAnnotation(ParameterOption.class));
-                }
-
-                options.stream()
-                        .filter(x -> x.index() == paramIndex)
-                        .findFirst()
-                        .ifPresent(x -> {
-                            String[] a = ((IConsoleAutoCompleterSupport) commandContainer).getAutocompleteOptions(x.id());
-                            for (String k : a) {
-                                if (k.startsWith(start)) {
-                                    possibleCommands.add(pref + " " + k);
-                                }
-                            }
-                        });
-
             }
         }
     }
 
-    public void set(Map<String, ICommandContainer> ces, String s) {
-        reset();
-        List<String> parts = Arrays.stream(s.split(" ")).collect(Collectors.toList());
-        if (s.endsWith(" ")) {
-            parts.add("");
+    /**
+     * @return The option as a single token for {@link CommandTokenizer}, quoted if it contains whitespace or quotes.
+     */
+    static String quote(String option) {
+        boolean plain = option.length() > 0;
+        for (int i = 0; i < option.length() && plain; i++) {
+            char c = option.charAt(i);
+            plain = !CommandTokenizer.isWhitespace(c) && c != '"' && c != '\'' && c != '\\';
         }
+        if (plain) {
+            return option;
+        }
+        StringBuilder quoted = new StringBuilder(option.length() + 2).append('"');
+        for (int i = 0; i < option.length(); i++) {
+            char c = option.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\');
+            }
+            quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
 
+    /**
+     * Finds the candidates for the given text, by narrowing the previous ones if possible, and ends cycling.
+     *
+     * @param prefixes The prefixes of all command containers.
+     * @param commands The command indices of all containers by their prefix.
+     */
+    void set(CompletionIndex prefixes, CommandNameMap<CommandIndex> commands, String s) {
+        cycling = false;
+        next = 0;
+        if (narrow(s)) {
+            return;
+        }
+        reset();
+        collected = true;
         setString = s;
 
-        String prefix = parts.stream()
-                .limit(parts.size() - 1)
-                .collect(Collectors.joining(" "));
-
-        if (parts.size() == 1) { //Prefix
-            completePrefix(ces.values(), parts.get(0));
-        } else if (parts.size() == 2) { //Command
-            String commandContainerPrefix = parts.get(0).toLowerCase();
-            if (ces.containsKey(commandContainerPrefix)) {
-                ICommandContainer container = ces.get(commandContainerPrefix);
-
-                completeCommand(container, parts.get(1), prefix);
+        // split like the console does when executing, the last word is the one completed
+        CommandTokenizer tokens = tokenizer;
+        int size = tokens.tokenize(s);
+        boolean newWord = size == 0 || tokens.getSourceEnd(size - 1) < s.length();
+        int words = newWord ? size + 1 : size;
+        String start = newWord ? "" : tokens.getToken(size - 1);
+        // candidates keep the text before the word as it was typed
+        String prefix = newWord ? s : s.substring(0, tokens.getSourceStart(size - 1));
+
+        // names match regardless of case, parameter options as they are
+        ignoreCase = words <= 2;
+        if (words == 1) { //Prefix
+            complete(prefixes, start, prefix);
+            return;
+        }
+        CommandIndex index = commands.get(tokens.getBuffer(), tokens.getStart(0), tokens.getEnd(0));
+        if (index == null) {
+            return;
+        }
+        if (words == 2) { //Command
+            complete(index.getCompletions(), start, prefix);
+        } else { //Params
+            CommandIndex.Overloads overloads = index.get(tokens.getBuffer(), tokens.getStart(1), tokens.getEnd(1));
+            if (overloads != null) {
+                completeParameter(index.getContainer(), overloads, words - 3, start, prefix);
+                // options come from the container in no particular order
+                possibleCommands.sort();
             }
-        } else if (parts.size() > 2) { //Params
-            String commandContainerPrefix = parts.get(0).toLowerCase();
-            if (ces.containsKey(commandContainerPrefix)) {
-                ICommandContainer container = ces.get(commandContainerPrefix);
-
-                completeParameter(container,
-                        parts.get(1),
-                        parts.size() - 3,
-                        parts.get(parts.size() - 1),
-                        prefix);
+        }
+    }
+
+    /**
+     * Removes the candidates not matching the text, if it only extends the last word of the text they were collected for.
+     *
+     * @return If the candidates could be narrowed.
+     */
+    private boolean narrow(String s) {
+        // options beyond the limit of a provider might match the longer text
+        if (!collected || truncated || !s.startsWith(setString) || s.indexOf(' ', setString.length()) >= 0) {
+            return false;
+        }
+        int length = s.length();
+        int kept = 0;
+        for (int i = 0; i < possibleCommands.size; i++) {
+            String candidate = possibleCommands.get(i);
+            if (candidate.regionMatches(ignoreCase, 0, s, 0, length)) {
+                possibleCommands.set(kept++, candidate);
             }
         }
-        iterator = new ObjectSetIterator<>(possibleCommands);
+        possibleCommands.truncate(kept);
+        setString = s;
+        return true;
     }
 
     public void reset() {
         possibleCommands.clear();
         setString = "";
-        iterator = null;
+        next = 0;
+        collected = false;
+        cycling = false;
+        truncated = false;
+    }
+
+
+    /**
+     * Ends cycling through the candidates while keeping them, so the next completion can narrow them.
+     */
+    public void endCycle() {
+        cycling = false;
+        next = 0;
+    }
+
+    /**
+     * @return If {@link #next()} was called since the candidates were last set and the cycle was not ended.
+     */
+    public boolean isCycling() {
+        return cycling;
     }
 
     public boolean isNew() {
@@ -142,10 +214,11 @@ public class CommandCompleter {
     }
 
     public String next() {
-        if (!iterator.hasNext) {
-            iterator.reset();
+        cycling = true;
+        if (next >= possibleCommands.size) {
+            next = 0;
             return setString;
         }
-        return iterator.next();
+        return possibleCommands.get(next++);
     }
 }
@@ -0,0 +1,33 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * Describes all commands of one {@link ICommandContainer} class without reflection. Implementations are generated by the
+ * {@code libgdx-inGameConsole-processor} annotation processor as {@code <ContainerClass>_ConsoleDispatcher}, in the package of the
+ * container, and picked up by {@link CommandDispatchers}.
+ */
+public interface CommandDispatcher {
+    /**
+     * @return A new {@link CommandMethod} for every command method of the container class, invoking the methods directly.
+     */
+    CommandMethod[] createMethods();
+
+    /**
+     * @return The {@link CommandMethod#getHelp() help text} of all command methods, joined in the order of {@link #createMethods()}, or
+     * null to join it when the container is added.
+     */
+    default String getHelp() {
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+/**
+ * Finds the generated {@link CommandDispatcher} of a container class. Dispatchers can be registered explicitly, which is needed on
+ * platforms where classes cannot be looked up by name (GWT without reflection configuration, Android with R8/ProGuard obfuscation).
+ * Otherwise {@code <ContainerClass>_ConsoleDispatcher} is looked up by name, with nested class names joined by an underscore.
+ */
+public final class CommandDispatchers {
+    public static final String SUFFIX = "_ConsoleDispatcher";
+
+    // cached for classes without a dispatcher, so they are only looked up once
+    private static final CommandDispatcher NONE = new CommandDispatcher() {
+        @Override
+        public CommandMethod[] createMethods() {
+            return new CommandMethod[0];
+        }
+    };
+
+    private static final ObjectMap<Class<?>, CommandDispatcher> dispatchers = new ObjectMap<>();
+    private static boolean lookupByName = true;
+
+    private CommandDispatchers() {
+    }
+
+    /**
+     * @param containerClass The {@link ICommandContainer} class.
+     * @param dispatcher     The generated dispatcher of exactly that class.
+     */
+    public static void register(Class<? extends ICommandContainer> containerClass, CommandDispatcher dispatcher) {
+        dispatchers.put(containerClass, dispatcher);
+    }
+
+    /**
+     * @param enabled False to only use dispatchers that were {@link #register(Class, CommandDispatcher) registered}.
+     */
+    public static void setLookupByName(boolean enabled) {
+        lookupByName = enabled;
+    }
+
+    /**
+     * @return The dispatcher of the class, or null if none was generated, in which case commands are found through reflection.
+     */
+    public static CommandDispatcher find(Class<?> containerClass) {
+        CommandDispatcher dispatcher = dispatchers.get(containerClass);
+        if (dispatcher == null && lookupByName) {
+            dispatcher = lookUp(containerClass.getName());
+            dispatchers.put(containerClass, dispatcher);
+        }
+        return dispatcher == NONE ? null : dispatcher;
+    }
+
+    /**
+     * @return The generated dispatcher of the class with the given name, or {@link #NONE}.
+     */
+    private static CommandDispatcher lookUp(String name) {
+        if (isAnonymousOrLocal(name)) {
+            return NONE;
+        }
+        try {
+            Class<?> dispatcherClass = ClassReflection.forName(name.replace('$', '_') + SUFFIX);
+            return (CommandDispatcher) ClassReflection.newInstance(dispatcherClass);
+        } catch (ReflectionException e) {
+            return NONE;
+        } catch (ClassCastException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Anonymous and local classes have a number after a '$' and never get a dispatcher.
+     */
+    private static boolean isAnonymousOrLocal(String name) {
+        int i = name.lastIndexOf('$') + 1;
+        return i < name.length() && Character.isDigit(name.charAt(i));
+    }
+}
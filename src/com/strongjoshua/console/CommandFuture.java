@@ -0,0 +1,207 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The pending outcome of an {@link com.strongjoshua.console.annotation.ConsoleCommand#async() async} command, see
+ * {@link CommandResult#getFuture()}. Async commands run on the console's executor and can be waited for, cancelled or given a timeout.
+ * <p>
+ * {@link #get()} returns the value returned by the command method, null for void methods. It throws an {@link ExecutionException} if
+ * the command failed.
+ */
+public class CommandFuture implements Future<Object> {
+    private enum State {
+        PENDING, RUNNING, DONE, FAILED, CANCELLED
+    }
+
+    private final String command;
+    private State state = State.PENDING;
+    private Object value;
+    private Throwable error;
+    private Thread runner;
+    private Listener listener;
+    // System.nanoTime() after which the console cancels the command, 0 for never
+    long deadline;
+
+    CommandFuture(String command) {
+        this.command = command;
+    }
+
+    /**
+     * @return The command as it was executed.
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Marks the command as running on the current thread.
+     *
+     * @return False if it was cancelled before it started.
+     */
+    synchronized boolean start() {
+        if (state != State.PENDING) {
+            return false;
+        }
+        state = State.RUNNING;
+        runner = Thread.currentThread();
+        return true;
+    }
+
+    void complete(Object value) {
+        finish(State.DONE, value, null);
+    }
+
+    void fail(Throwable error) {
+        finish(State.FAILED, null, error);
+    }
+
+    private void finish(State state, Object value, Throwable error) {
+        Listener listener;
+        synchronized (this) {
+            if (isDone()) {
+                return;
+            }
+            this.state = state;
+            this.value = value;
+            this.error = error;
+            runner = null;
+            listener = this.listener;
+            notifyAll();
+        }
+        fireListener(listener);
+    }
+
+    /**
+     * Cancels the command. A command that has not started yet never runs; a running command is interrupted if allowed, but its method
+     * has to check for interruption to actually stop.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        Listener listener;
+        synchronized (this) {
+            if (isDone()) {
+                return false;
+            }
+            if (runner != null && mayInterruptIfRunning) {
+                runner.interrupt();
+            }
+            state = State.CANCELLED;
+            runner = null;
+            listener = this.listener;
+            notifyAll();
+        }
+        fireListener(listener);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == State.CANCELLED;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state == State.DONE || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    /**
+     * @return If the command could not be found or threw an exception.
+     */
+    public synchronized boolean isFailed() {
+        return state == State.FAILED;
+    }
+
+    /**
+     * @return Why the command failed, or null if it did not (yet).
+     */
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public synchronized Object get() throws InterruptedException, ExecutionException {
+        while (!isDone()) {
+            wait();
+        }
+        return result();
+    }
+
+    @Override
+    public synchronized Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        long end = System.nanoTime() + unit.toNanos(timeout);
+        while (!isDone()) {
+            long remaining = end - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("Command did not finish in time: " + command);
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return result();
+    }
+
+    private Object result() throws ExecutionException {
+        if (state == State.CANCELLED) {
+            throw new CancellationException("Command was cancelled: " + command);
+        }
+        if (state == State.FAILED) {
+            throw new ExecutionException(error);
+        }
+        return value;
+    }
+
+    /**
+     * @param listener Called on the application's thread once the command is done, right away if it already is. Replaces the previous
+     *                 listener.
+     */
+    public void setListener(Listener listener) {
+        boolean done;
+        synchronized (this) {
+            this.listener = listener;
+            done = isDone();
+        }
+        if (done) {
+            fireListener(listener);
+        }
+    }
+
+    private void fireListener(final Listener listener) {
+        if (listener == null) {
+            return;
+        }
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                listener.done(CommandFuture.this);
+            }
+        };
+        if (Gdx.app != null) {
+            Gdx.app.postRunnable(runnable);
+        } else {
+            runnable.run();
+        }
+    }
+
+    public interface Listener {
+        void done(CommandFuture future);
+    }
+}
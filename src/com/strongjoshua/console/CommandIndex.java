@@ -0,0 +1,198 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.strongjoshua.console.annotation.ConsoleCommand;
+
+/**
+ * Dispatch table of a single {@link ICommandContainer}. Built once when the container is added to a console; afterwards a command is
+ * resolved by its lowercased name and argument count without any reflection. If a generated {@link CommandDispatcher} exists for the
+ * container, it is used instead of reflection for building the table as well.
+ */
+public class CommandIndex {
+    private static final CommandMethod[] NO_METHODS = new CommandMethod[0];
+
+    private final ICommandContainer container;
+    private final Array<CommandMethod> methods;
+    private final CommandNameMap<Overloads> commands;
+    private final CompletionIndex completions;
+    private final String help;
+
+    CommandIndex(ICommandContainer container, ArgumentConverters converters) {
+        this.container = container;
+        methods = new Array<>(CommandMethod.class);
+        commands = new CommandNameMap<>();
+
+        CommandDispatcher dispatcher = CommandDispatchers.find(container.getClass());
+        if (dispatcher != null) {
+            methods.addAll(dispatcher.createMethods());
+        } else {
+            for (Method method : ClassReflection.getMethods(container.getClass())) {
+                if (method.isAnnotationPresent(ConsoleCommand.class)) {
+                    methods.add(CommandMethod.of(method));
+                }
+            }
+        }
+        resolveConverters(converters);
+        String generatedHelp = dispatcher != null ? dispatcher.getHelp() : null;
+        help = generatedHelp != null ? generatedHelp : joinHelp(methods);
+
+        ObjectMap<String, Array<CommandMethod>> byName = new ObjectMap<>();
+        Array<String> names = new Array<>(String.class);
+        for (CommandMethod method : methods) {
+            String name = CommandNameMap.toLowerCase(method.getName());
+            addByName(byName, name, method);
+            names.add(method.getName());
+            String commandName = CommandNameMap.toLowerCase(method.getCommandName());
+            if (commandName.length() > 0 && !commandName.equals(name)) {
+                addByName(byName, commandName, method);
+                names.add(method.getCommandName());
+            }
+        }
+        for (ObjectMap.Entry<String, Array<CommandMethod>> entry : byName) {
+            commands.put(entry.key, new Overloads(entry.value));
+        }
+        completions = new CompletionIndex();
+        completions.set(names);
+    }
+
+    private static void addByName(ObjectMap<String, Array<CommandMethod>> byName, String name, CommandMethod method) {
+        Array<CommandMethod> overloads = byName.get(name);
+        if (overloads == null) {
+            overloads = new Array<>(CommandMethod.class);
+            byName.put(name, overloads);
+        }
+        overloads.add(method);
+    }
+
+    private static String joinHelp(Array<CommandMethod> methods) {
+        StringBuilder sb = new StringBuilder();
+        for (CommandMethod method : methods) {
+            sb.append(method.getHelp());
+        }
+        return sb.toString();
+    }
+
+    void resolveConverters(ArgumentConverters converters) {
+        for (CommandMethod method : methods) {
+            method.resolveConverters(converters);
+        }
+    }
+
+    public ICommandContainer getContainer() {
+        return container;
+    }
+
+    /**
+     * @return All command methods of the container, in declaration order. Do not modify.
+     */
+    public Array<CommandMethod> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return The {@link CommandMethod#getHelp() help text} of all command methods, as shown by {@link Console#printHelp(String)} below
+     * the name of the container.
+     */
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * @param name Command name, case-insensitive (either the method name or {@link ConsoleCommand#commandName()}).
+     * @return The overloads registered under that name, or null if there are none.
+     */
+    public Overloads get(String name) {
+        return commands.get(name);
+    }
+
+    /**
+     * @return The names of all commands, for completion.
+     */
+    CompletionIndex getCompletions() {
+        return completions;
+    }
+
+    /**
+     * Case-insensitive lookup of a command name given as a region of some text, e.g. a token of a {@link CommandTokenizer}.
+     *
+     * @return The overloads registered under that name, or null if there are none.
+     */
+    public Overloads get(CharSequence text, int start, int end) {
+        return commands.get(text, start, end);
+    }
+
+    /**
+     * All methods that share a command name, grouped by their number of parameters.
+     */
+    public static class Overloads {
+        private final CommandMethod[][] byArity;
+        private final CommandMethod[] all;
+        private final boolean allHidden;
+
+        Overloads(Array<CommandMethod> methods) {
+            all = methods.toArray();
+            int maxArity = 0;
+            boolean hidden = true;
+            for (CommandMethod method : methods) {
+                maxArity = Math.max(maxArity, method.getArity());
+                hidden &= method.isHidden();
+            }
+            allHidden = hidden;
+
+            byArity = new CommandMethod[maxArity + 1][];
+            for (int arity = 0; arity <= maxArity; arity++) {
+                int count = 0;
+                for (CommandMethod method : methods) {
+                    if (method.getArity() == arity) count++;
+                }
+                if (count == 0) {
+                    byArity[arity] = NO_METHODS;
+                    continue;
+                }
+                byArity[arity] = new CommandMethod[count];
+                int i = 0;
+                for (CommandMethod method : methods) {
+                    if (method.getArity() == arity) byArity[arity][i++] = method;
+                }
+            }
+        }
+
+        /**
+         * @param arity The number of arguments given.
+         * @return The methods taking exactly that many parameters. Never null, do not modify.
+         */
+        public CommandMethod[] get(int arity) {
+            return arity < byArity.length ? byArity[arity] : NO_METHODS;
+        }
+
+        /**
+         * @return All overloads. Do not modify.
+         */
+        public CommandMethod[] getAll() {
+            return all;
+        }
+
+        /**
+         * @return If every overload is annotated with {@link com.strongjoshua.console.annotation.HiddenCommand}.
+         */
+        public boolean isAllHidden() {
+            return allHidden;
+        }
+    }
+}
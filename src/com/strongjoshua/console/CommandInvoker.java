@@ -0,0 +1,29 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+/**
+ * Calls a single {@link com.strongjoshua.console.annotation.ConsoleCommand} method. Invokers are created once per method when its
+ * container is registered, see {@link CommandInvokers}.
+ */
+public interface CommandInvoker {
+    /**
+     * @param target The {@link ICommandContainer} the method belongs to.
+     * @param args   The already converted arguments, one per parameter.
+     * @return The return value of the method, null for void methods.
+     * @throws ReflectionException If the method could not be called or threw an exception itself.
+     */
+    Object invoke(Object target, Object[] args) throws ReflectionException;
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates the {@link CommandInvoker} for a command method. Uses a {@link java.lang.invoke.MethodHandle} where the platform supports
+ * it and falls back to libGDX reflection otherwise (e.g. Android below API 26).
+ * <p>
+ * Both only replace reflective access checks; neither lets the JIT inline the command method. Containers that need direct calls should
+ * use a {@link CommandDispatcher} generated by the annotation processor, whose invokers call the methods without any of these.
+ */
+public final class CommandInvokers {
+    private static boolean methodHandlesEnabled = true;
+
+    private CommandInvokers() {
+    }
+
+    /**
+     * @param enabled False to always use libGDX reflection, even if method handles are available. Only affects containers
+     *                registered afterwards.
+     */
+    public static void setMethodHandlesEnabled(boolean enabled) {
+        methodHandlesEnabled = enabled;
+    }
+
+    public static CommandInvoker create(Method method) {
+        if (methodHandlesEnabled) {
+            try {
+                return new MethodHandleInvoker(method);
+            } catch (Throwable t) {
+                // class verification fails on platforms without java.lang.invoke, so never try again
+                if (t instanceof LinkageError) {
+                    methodHandlesEnabled = false;
+                }
+            }
+        }
+        return new ReflectionInvoker(method);
+    }
+
+    static class ReflectionInvoker implements CommandInvoker {
+        private final Method method;
+
+        ReflectionInvoker(Method method) {
+            this.method = method;
+            method.setAccessible(true);
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws ReflectionException {
+            try {
+                return method.invoke(target, args);
+            } catch (ReflectionException e) {
+                // report the exception thrown by the command like MethodHandleInvoker does
+                if (e.getCause() instanceof InvocationTargetException) {
+                    throw new ReflectionException(e.getMessage(), e.getCause().getCause());
+                }
+                throw e;
+            }
+        }
+    }
+}
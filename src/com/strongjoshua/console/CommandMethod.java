@@ -0,0 +1,308 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.reflect.Annotation;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import com.strongjoshua.console.annotation.ConsoleDoc;
+import com.strongjoshua.console.annotation.HiddenCommand;
+import com.strongjoshua.console.annotation.ParameterOption;
+import com.strongjoshua.console.annotation.ParameterOptions;
+
+import java.util.Arrays;
+
+/**
+ * A single {@link ConsoleCommand} method of an {@link ICommandContainer}. All annotation data is read once when the container is
+ * registered, so executing, listing or completing the command does not need any further reflection.
+ */
+public class CommandMethod {
+    private final Method method;
+    private final CommandInvoker invoker;
+    private final String name;
+    private final String commandName;
+    private final String[] parameterNames;
+    private final Class<?>[] parameterTypes;
+    private final boolean hidden;
+    private final String description;
+    private final String[] parameterDescriptions;
+    private final int[] parameterOptionIds;
+    private final boolean async;
+    private final ArgumentConverter[] converters;
+    private final Object[] arguments;
+    private String help;
+
+    /**
+     * Creates a command without reflection, used by generated {@link CommandDispatcher}s.
+     *
+     * @param name                  Name of the java method.
+     * @param commandName           {@link ConsoleCommand#commandName()}, empty if none.
+     * @param parameterNames        {@link ConsoleCommand#parameterNames()}.
+     * @param parameterTypes        The parameter types of the method.
+     * @param hidden                If the method is annotated with {@link HiddenCommand}.
+     * @param description           {@link ConsoleDoc#description()}, null if the method has no {@link ConsoleDoc}.
+     * @param parameterDescriptions {@link ConsoleDoc#paramDescriptions()}, null if the method has no {@link ConsoleDoc}.
+     * @param invoker               Calls the method.
+     */
+    public CommandMethod(String name, String commandName, String[] parameterNames, Class<?>[] parameterTypes, boolean hidden,
+                         String description, String[] parameterDescriptions, CommandInvoker invoker) {
+        this(name, commandName, parameterNames, parameterTypes, hidden, description, parameterDescriptions, null, false, invoker);
+    }
+
+    /**
+     * Creates a command without reflection, used by generated {@link CommandDispatcher}s.
+     *
+     * @param parameterOptionIds The {@link ParameterOption#id()} of every parameter, -1 for parameters without one. Null if the method has
+     *                           no options.
+     * @param async              {@link ConsoleCommand#async()}.
+     * @see #CommandMethod(String, String, String[], Class[], boolean, String, String[], CommandInvoker)
+     */
+    public CommandMethod(String name, String commandName, String[] parameterNames, Class<?>[] parameterTypes, boolean hidden,
+                         String description, String[] parameterDescriptions, int[] parameterOptionIds, boolean async,
+                         CommandInvoker invoker) {
+        this(name, commandName, parameterNames, parameterTypes, hidden, description, parameterDescriptions, parameterOptionIds, async,
+                null, invoker);
+    }
+
+    /**
+     * Creates a command without reflection, used by generated {@link CommandDispatcher}s.
+     *
+     * @param help The precomputed {@link #getHelp() help text}, null to build it on first use.
+     * @see #CommandMethod(String, String, String[], Class[], boolean, String, String[], int[], boolean, CommandInvoker)
+     */
+    public CommandMethod(String name, String commandName, String[] parameterNames, Class<?>[] parameterTypes, boolean hidden,
+                         String description, String[] parameterDescriptions, int[] parameterOptionIds, boolean async, String help,
+                         CommandInvoker invoker) {
+        this(null, name, commandName, parameterNames, parameterTypes, hidden, description, parameterDescriptions, parameterOptionIds,
+                async, invoker);
+        this.help = help;
+    }
+
+    private CommandMethod(Method method, String name, String commandName, String[] parameterNames, Class<?>[] parameterTypes,
+                          boolean hidden, String description, String[] parameterDescriptions, int[] parameterOptionIds,
+                          boolean async, CommandInvoker invoker) {
+        this.method = method;
+        this.name = name;
+        this.commandName = commandName;
+        this.parameterNames = parameterNames;
+        this.parameterTypes = parameterTypes;
+        this.hidden = hidden;
+        this.description = description;
+        this.parameterDescriptions = parameterDescriptions;
+        this.parameterOptionIds = parameterOptionIds;
+        this.async = async;
+        this.invoker = invoker;
+        converters = new ArgumentConverter[parameterTypes.length];
+        arguments = new Object[parameterTypes.length];
+    }
+
+    /**
+     * Reads all annotation data of the method through reflection.
+     */
+    static CommandMethod of(Method method) {
+        ConsoleCommand command = method.getDeclaredAnnotation(ConsoleCommand.class).getAnnotation(ConsoleCommand.class);
+        String description = null;
+        String[] parameterDescriptions = null;
+        Annotation doc = method.getDeclaredAnnotation(ConsoleDoc.class);
+        if (doc != null) {
+            description = doc.getAnnotation(ConsoleDoc.class).description();
+            parameterDescriptions = doc.getAnnotation(ConsoleDoc.class).paramDescriptions();
+        }
+        return new CommandMethod(method, method.getName(), command.commandName(), command.parameterNames(),
+                method.getParameterTypes(), method.isAnnotationPresent(HiddenCommand.class), description, parameterDescriptions,
+                readParameterOptionIds(method), command.async(), CommandInvokers.create(method));
+    }
+
+    /**
+     * @return The first option id given for every parameter, or null if there are none.
+     */
+    private static int[] readParameterOptionIds(Method method) {
+        Annotation options = method.getDeclaredAnnotation(ParameterOptions.class);
+        Annotation option = method.getDeclaredAnnotation(ParameterOption.class);
+        if (options == null && option == null) {
+            return null;
+        }
+        int[] ids = new int[method.getParameterTypes().length];
+        Arrays.fill(ids, -1);
+        if (options != null) {
+            for (ParameterOption value : options.getAnnotation(ParameterOptions.class).value()) {
+                setParameterOptionId(ids, value);
+            }
+        }
+        if (option != null) {
+            setParameterOptionId(ids, option.getAnnotation(ParameterOption.class));
+        }
+        return ids;
+    }
+
+    private static void setParameterOptionId(int[] ids, ParameterOption option) {
+        if (option.index() >= 0 && option.index() < ids.length && ids[option.index()] == -1) {
+            ids[option.index()] = option.id();
+        }
+    }
+
+    /**
+     * Looks up the converter for every parameter. Parameters of unsupported types get none, which makes the method never match.
+     */
+    void resolveConverters(ArgumentConverters registry) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            converters[i] = registry.get(parameterTypes[i]);
+        }
+    }
+
+    /**
+     * Converts tokens into {@link #getArguments()}.
+     *
+     * @param tokens     The tokenized command.
+     * @param firstToken Index of the token holding the first argument.
+     * @return The sum of the {@link ArgumentConverter#getMatchScore() match scores}, or -1 if the number of arguments is wrong or any
+     * argument could not be converted.
+     */
+    int matchArguments(CommandTokenizer tokens, int firstToken) {
+        if (tokens.size() - firstToken != converters.length) {
+            return -1;
+        }
+        CharSequence text = tokens.getBuffer();
+        int score = 0;
+        for (int i = 0; i < converters.length; i++) {
+            ArgumentConverter converter = converters[i];
+            if (converter == null) {
+                return -1;
+            }
+            Object value = converter.convert(text, tokens.getStart(firstToken + i), tokens.getEnd(firstToken + i));
+            if (value == ArgumentConverter.FAILED) {
+                return -1;
+            }
+            arguments[i] = value;
+            score += converter.getMatchScore();
+        }
+        return score;
+    }
+
+    /**
+     * @return The arguments of the last successful {@link #matchArguments(CommandTokenizer, int)}. Reused between calls.
+     */
+    Object[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Calls the method through its {@link CommandInvoker}.
+     *
+     * @param container The container the method was registered with.
+     * @param args      Converted arguments, one per parameter.
+     * @return The return value of the method, null for void methods.
+     */
+    public Object invoke(ICommandContainer container, Object[] args) throws ReflectionException {
+        return invoker.invoke(container, args);
+    }
+
+    /**
+     * @return The reflected method, or null if the command was created by a generated {@link CommandDispatcher}.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The name of the java method.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The value of {@link ConsoleCommand#commandName()}, empty if none was given.
+     */
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public int getArity() {
+        return parameterTypes.length;
+    }
+
+    /**
+     * @return If the method is annotated with {@link HiddenCommand}.
+     */
+    public boolean isHidden() {
+        return hidden;
+    }
+
+    /**
+     * @return If the command runs on the console's executor, see {@link ConsoleCommand#async()}.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * @return If the method is annotated with {@link ConsoleDoc}.
+     */
+    public boolean hasDoc() {
+        return description != null;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String[] getParameterDescriptions() {
+        return parameterDescriptions;
+    }
+
+    /**
+     * @return The {@link ParameterOption#id()} given for the parameter, or -1 if there is none.
+     */
+    public int getParameterOptionId(int index) {
+        if (parameterOptionIds == null || index < 0 || index >= parameterOptionIds.length) {
+            return -1;
+        }
+        return parameterOptionIds[index];
+    }
+
+    /**
+     * @return The text {@link Console#printHelp(String)} shows for this method: its signature and, if it has a {@link ConsoleDoc}, the
+     * description of the method and its parameters. Precomputed by generated {@link CommandDispatcher}s, otherwise built once.
+     */
+    public String getHelp() {
+        if (help == null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("-").append(name);
+            ConsoleUtils.methodParamsToString(this, sb).append(":\n");
+            if (hasDoc()) {
+                sb.append(description).append("\n\n");
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    for (int j = 0; j < name.length() + 2; j++)
+                        // using spaces this way works with monotype fonts
+                        sb.append(" ");
+                    sb.append(parameterTypes[i].getSimpleName()).append(": ");
+                    if (i < parameterDescriptions.length)
+                        sb.append(parameterDescriptions[i]);
+                }
+            }
+            help = sb.toString();
+        }
+        return help;
+    }
+}
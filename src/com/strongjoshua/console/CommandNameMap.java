@@ -0,0 +1,125 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Case-insensitive map from command or container names to values that can be queried with a region of any {@link CharSequence},
+ * e.g. a token of a {@link CommandTokenizer}, without creating a string. Keys are stored lowercased and in insertion order.
+ * <p>
+ * Lookups are O(1); adding or removing rebuilds the hash table, which is fine for the rare registration of commands.
+ */
+class CommandNameMap<V> {
+    private final Array<String> keys = new Array<>(String.class);
+    private final Array<V> values = new Array<>();
+    private int[] slots = new int[8];
+    private int mask = slots.length - 1;
+
+    /**
+     * @return The previous value of the name, or null.
+     */
+    V put(String name, V value) {
+        String key = toLowerCase(name);
+        int index = keys.indexOf(key, false);
+        if (index >= 0) {
+            V old = values.get(index);
+            values.set(index, value);
+            return old;
+        }
+        keys.add(key);
+        values.add(value);
+        rehash();
+        return null;
+    }
+
+    /**
+     * @return The removed value, or null if the name was not present.
+     */
+    V remove(String name) {
+        int index = keys.indexOf(toLowerCase(name), false);
+        if (index < 0) {
+            return null;
+        }
+        keys.removeIndex(index);
+        V old = values.removeIndex(index);
+        rehash();
+        return old;
+    }
+
+    V get(String name) {
+        return get(name, 0, name.length());
+    }
+
+    V get(CharSequence text, int start, int end) {
+        for (int i = hash(text, start, end) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == 0) {
+                return null;
+            }
+            if (ArgumentConverters.regionEqualsIgnoreCase(text, start, end, keys.get(slot - 1))) {
+                return values.get(slot - 1);
+            }
+        }
+    }
+
+    int size() {
+        return keys.size;
+    }
+
+    String keyAt(int index) {
+        return keys.get(index);
+    }
+
+    V valueAt(int index) {
+        return values.get(index);
+    }
+
+    private void rehash() {
+        // keep the load factor below 0.5 so probing stays short
+        int capacity = 8;
+        while (capacity < keys.size * 2) {
+            capacity <<= 1;
+        }
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int index = 0; index < keys.size; index++) {
+            String key = keys.get(index);
+            int i = hash(key, 0, key.length()) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = index + 1;
+        }
+    }
+
+    /**
+     * Lowercases char by char like the hashing and comparison of keys do, so unlike {@link String#toLowerCase()} the result does not
+     * depend on the default locale (e.g. {@code "I"} is {@code "i"} in a Turkish locale too) and has the same length.
+     */
+    static String toLowerCase(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Outcome of a command run with {@link Console#execute(String, CommandResult)} or {@link Console#execCommand(String)}. Can be reused for
+ * any number of commands, each one resets it.
+ */
+public class CommandResult {
+    public enum Status {
+        /**
+         * The command ran and returned normally.
+         */
+        SUCCESS(null),
+        /**
+         * The command is {@link com.strongjoshua.console.annotation.ConsoleCommand#async() async} and was started, see
+         * {@link #getFuture()}.
+         */
+        STARTED(null),
+        NOT_FOUND("No such method found."),
+        BAD_PARAMETERS("Bad parameters. Check your code."),
+        /**
+         * The command threw an exception, see {@link #getError()}.
+         */
+        ERROR(null),
+        /**
+         * The console is disabled.
+         */
+        DISABLED(null);
+
+        private final String message;
+
+        Status(String message) {
+            this.message = message;
+        }
+
+        /**
+         * @return The message logged for the status, or null if there is none.
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final Array<LogEntry> output = new Array<>(LogEntry.class);
+    String command;
+    Status status;
+    CommandMethod method;
+    long duration;
+    Object value;
+    Throwable error;
+    CommandFuture future;
+
+    void reset(String command) {
+        this.command = command;
+        status = null;
+        method = null;
+        duration = 0;
+        value = null;
+        error = null;
+        future = null;
+        output.clear();
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    /**
+     * @return The method the command resolved to, or null if it did not resolve to one or ran the container's default command.
+     */
+    public CommandMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return How long resolving and running the command took, in nanoseconds. Async commands only count until they were started.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The value returned by the command method, null for void methods or if it did not return.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return The exception thrown by the command method, if the status is {@link Status#ERROR}.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return The pending outcome of an async command, null for other commands.
+     */
+    public CommandFuture getFuture() {
+        return future;
+    }
+
+    /**
+     * @return The entries logged by the command and the console on the console's thread while it ran through
+     * {@link Console#execute(String, CommandResult)}, including error messages. They are not written to the sinks. Entries logged from
+     * other threads, e.g. by async commands, are not captured. Do not modify.
+     */
+    public Array<LogEntry> getOutput() {
+        return output;
+    }
+
+    void capture(LogEntry entry) {
+        output.add(entry);
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * Splits a command line into tokens without creating any strings. Tokens are separated by whitespace; runs of whitespace never
+ * produce empty tokens. Double or single quotes group whitespace into a single token and a backslash escapes the next character.
+ * <p>
+ * The (unescaped) text of all tokens is written to one reusable buffer and each token is described by its start and end offset in
+ * that buffer, so a tokenizer can be reused for any number of commands without allocating.
+ */
+public class CommandTokenizer {
+    private final StringBuilder buffer = new StringBuilder(64);
+    private int[] offsets = new int[16];
+    // start and end of every token in the tokenized text, including quotes and escapes
+    private int[] sourceOffsets = new int[16];
+    private int size;
+
+    /**
+     * @return The number of tokens.
+     * @see #tokenize(CharSequence, int, int)
+     */
+    public int tokenize(CharSequence text) {
+        return tokenize(text, 0, text.length());
+    }
+
+    /**
+     * Tokenizes the given region, replacing the previous tokens.
+     *
+     * @param text  The command line.
+     * @param start Index of the first character to tokenize.
+     * @param end   Index after the last character to tokenize.
+     * @return The number of tokens.
+     */
+    public int tokenize(CharSequence text, int start, int end) {
+        buffer.setLength(0);
+        size = 0;
+
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            int tokenStart = buffer.length();
+            int sourceStart = i;
+            char quote = 0;
+            for (; i < end; i++) {
+                c = text.charAt(i);
+                if (c == '\\' && i + 1 < end) {
+                    buffer.append(text.charAt(++i));
+                } else if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    } else {
+                        buffer.append(c);
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (isWhitespace(c)) {
+                    break;
+                } else {
+                    buffer.append(c);
+                }
+            }
+            addToken(tokenStart, buffer.length(), sourceStart, i);
+        }
+        return size;
+    }
+
+    private void addToken(int start, int end, int sourceStart, int sourceEnd) {
+        if (size * 2 + 2 > offsets.length) {
+            int[] newOffsets = new int[offsets.length * 2];
+            System.arraycopy(offsets, 0, newOffsets, 0, offsets.length);
+            offsets = newOffsets;
+            int[] newSourceOffsets = new int[newOffsets.length];
+            System.arraycopy(sourceOffsets, 0, newSourceOffsets, 0, sourceOffsets.length);
+            sourceOffsets = newSourceOffsets;
+        }
+        offsets[size * 2] = start;
+        offsets[size * 2 + 1] = end;
+        sourceOffsets[size * 2] = sourceStart;
+        sourceOffsets[size * 2 + 1] = sourceEnd;
+        size++;
+    }
+
+    /**
+     * @return The number of tokens of the last tokenized command.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The unescaped text of all tokens. Only valid until the next call to {@link #tokenize(CharSequence, int, int)}.
+     */
+    public CharSequence getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return Offset of the first character of the token in {@link #getBuffer()}.
+     */
+    public int getStart(int token) {
+        checkToken(token);
+        return offsets[token * 2];
+    }
+
+    /**
+     * @return Offset after the last character of the token in {@link #getBuffer()}.
+     */
+    public int getEnd(int token) {
+        checkToken(token);
+        return offsets[token * 2 + 1];
+    }
+
+    /**
+     * @return Index of the first character of the token in the tokenized text, which may be a quote.
+     */
+    public int getSourceStart(int token) {
+        checkToken(token);
+        return sourceOffsets[token * 2];
+    }
+
+    /**
+     * @return Index after the last character of the token in the tokenized text. Less than the end of the tokenized region if the
+     * token was followed by whitespace.
+     */
+    public int getSourceEnd(int token) {
+        checkToken(token);
+        return sourceOffsets[token * 2 + 1];
+    }
+
+    /**
+     * Creates a string of the token. Prefer {@link #getStart(int)} and {@link #getEnd(int)} on hot paths.
+     */
+    public String getToken(int token) {
+        return buffer.substring(getStart(token), getEnd(token));
+    }
+
+    private void checkToken(int token) {
+        if (token < 0 || token >= size) {
+            throw new IndexOutOfBoundsException("token can't be >= size: " + token + " >= " + size);
+        }
+    }
+
+    /**
+     * @return If the text consists of whitespace only.
+     */
+    public static boolean isBlank(CharSequence text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (!isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isWhitespace(char c) {
+        return c <= ' ';
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, case-insensitive set of names that can be completed, e.g. the prefixes of all command containers or the commands of a single
+ * container. The names starting with a prefix are found with a binary search followed by a walk over the adjacent names, so they come
+ * out sorted without looking at any other name.
+ * <p>
+ * Setting the names sorts them again, which is fine for the rare registration of commands.
+ */
+class CompletionIndex {
+    private static final String[] NO_NAMES = new String[0];
+
+    // lowercased and sorted, with the names as given at the same positions
+    private String[] keys = NO_NAMES;
+    private String[] names = NO_NAMES;
+
+    /**
+     * Replaces all names. Names that only differ in case are kept once.
+     */
+    void set(Array<String> names) {
+        String[] sorted = names.toArray(String.class);
+        Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+        Array<String> keys = new Array<>(String.class);
+        Array<String> unique = new Array<>(String.class);
+        for (String name : sorted) {
+            String key = name.toLowerCase();
+            if (keys.size == 0 || !keys.peek().equals(key)) {
+                keys.add(key);
+                unique.add(name);
+            }
+        }
+        this.keys = keys.toArray();
+        this.names = unique.toArray();
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * @param prefix Lowercased prefix.
+     * @return The index of the first name starting with the prefix, or of the first name sorted after it if there is none.
+     */
+    int first(String prefix) {
+        int low = 0, high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param prefix Lowercased prefix.
+     * @return If the name at the index starts with the prefix, ignoring case.
+     */
+    boolean matches(int index, String prefix) {
+        return index < keys.length && keys[index].startsWith(prefix);
+    }
+
+    /**
+     * @return The name at the index, as it was given.
+     */
+    String get(int index) {
+        return names[index];
+    }
+}
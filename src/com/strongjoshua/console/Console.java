@@ -21,6 +21,9 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.ui.Window;
 import com.strongjoshua.console.annotation.HiddenCommand;
 
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
 /**
  * A simple console that allows live logging, and live execution of methods, from within an application. Please see the <a
  * href="https://github.com/StrongJoshua/libgdx-inGameConsole">GitHub Repository</a> for more information.
@@ -56,9 +59,43 @@ public interface Console {
      * Makes the console also log to the System when {@link Console#log(String)} is called.
      *
      * @param log to the system
+     * @see Console#getSystemLogSink()
      */
     void setLoggingToSystem(Boolean log);
 
+    /**
+     * Adds a sink that receives all entries of the levels it accepts, e.g. an {@link AsyncFileLogger}. Sinks that are also
+     * {@link com.badlogic.gdx.utils.Disposable} are disposed together with the console.
+     *
+     * @param sink The sink to add.
+     */
+    void addLogSink(LogSink sink);
+
+    /**
+     * @param sink The sink to stop writing to. It is not disposed.
+     */
+    void removeLogSink(LogSink sink);
+
+    /**
+     * Entries logged from other threads than the one that created the console are tagged with the name of their thread. Thread-safe sinks
+     * like the {@link SystemLogSink} and {@link AsyncFileLogger} get them right away; for all other sinks, including the console's own
+     * log, they are queued and written by that thread during {@link #draw()} or {@link HeadlessConsole#update()}.
+     *
+     * @param policy What to do when the queue is full. Default is {@link BackpressurePolicy#COALESCE}.
+     */
+    void setLogQueuePolicy(BackpressurePolicy policy);
+
+    /**
+     * @return The in-memory sink holding the entries shown by the console. Its levels decide what the console displays.
+     */
+    Log getLog();
+
+    /**
+     * @return The sink printing to {@link System#out} and {@link System#err}.
+     * @see Console#setLoggingToSystem(Boolean)
+     */
+    SystemLogSink getSystemLogSink();
+
     /**
      * Set size of the console as a percent of screen size
      *
@@ -128,6 +165,31 @@ public interface Console {
      */
     void log(String msg);
 
+    /**
+     * Logs a new entry to the console, formatting the message only when it is displayed or written. Nothing is formatted if no
+     * {@link LogSink} accepts the level. Arguments should not be modified after logging, as formatting happens later and possibly on
+     * another thread, see {@link #log(LogLevel, Supplier)}.
+     *
+     * @param level   The {@link LogLevel} of the log entry.
+     * @param pattern The message, where each {@code {}} is replaced with the next argument.
+     * @param args    The arguments for the placeholders.
+     * @see ConsoleUtils#format(String, Object[])
+     */
+    void log(LogLevel level, String pattern, Object... args);
+
+    /**
+     * Logs a new entry to the console, creating the message only when it is displayed or written. The supplier is not called at all
+     * if no {@link LogSink} accepts the level.
+     * <p>
+     * The supplier is called at most once, but not necessarily on the thread that logged: entries logged from other threads are
+     * formatted on the console's thread when it displays them. It should therefore only read values that do not change after logging.
+     * Thread-safe sinks that write on a thread of their own, like {@link AsyncFileLogger}, format the entry before they hand it over.
+     *
+     * @param level   The {@link LogLevel} of the log entry.
+     * @param message Creates the message.
+     */
+    void log(LogLevel level, Supplier<String> message);
+
     /**
      * Logs a new entry to the console using {@link LogLevel#ERROR}.
      *
@@ -166,6 +228,16 @@ public interface Console {
      */
     void printLogToFile(FileHandle fh);
 
+    /**
+     * Prints log entries to the given file. Entries are streamed to the file, so this is cheap even for very large logs.
+     *
+     * @param fh     The {@link FileHandle} that links to the file to be written to. Note that <code>classpath</code> and
+     *               <code>internal</code> FileHandles cannot be written to.
+     * @param append False to overwrite the file with all entries. True to append only the entries logged since the last time the log
+     *               was printed to a file.
+     */
+    void printLogToFile(FileHandle fh, boolean append);
+
     /**
      * Prints all commands
      */
@@ -209,13 +281,66 @@ public interface Console {
 
     void removeCommandContainer(ICommandContainer commandContainer);
 
+    /**
+     * Registers how command arguments are converted to the given parameter type. Replaces the converter of a built-in type if one
+     * exists. Command methods with a parameter type that has no converter can never be executed.
+     *
+     * @param type      The parameter type.
+     * @param converter The converter for that type.
+     */
+    void registerArgumentConverter(Class<?> type, ArgumentConverter converter);
+
 
     /**
-     * Executes the specified command via the set {@link CommandExecutor}.
+     * Executes the specified command via the set {@link CommandExecutor}. Commands marked as
+     * {@link com.strongjoshua.console.annotation.ConsoleCommand#async() async} are started on the async executor and this returns
+     * right away, their outcome is {@link CommandResult#getFuture()}.
      *
      * @param command The command to execute.
+     * @return The outcome of the command. Owned by the console and reused by the next call, so it must not be kept. Its output stays
+     * empty, everything is logged as usual.
+     */
+    CommandResult execCommand(String command);
+
+    /**
+     * Executes the command like {@link #execCommand(String)}, but reports the outcome in a {@link CommandResult} instead of the log: the
+     * command is not echoed, and everything logged while it runs, including error messages, only goes into the result.
+     *
+     * @param command The command to execute.
+     * @return A new result.
+     */
+    CommandResult execute(String command);
+
+    /**
+     * @param command The command to execute.
+     * @param result  Reset and filled in, so a single result can be reused for many commands.
+     * @return The given result.
+     * @see #execute(String)
      */
-    void execCommand(String command);
+    CommandResult execute(String command, CommandResult result);
+
+    /**
+     * Executes the commands in a script, which is read line by line. Commands on the same line are separated by {@code ;} and a
+     * {@code #} or {@code //} at the start of a token comments out the rest of the line; both are ignored inside quotes. Commands that
+     * fail are logged with their line and the script continues. Also available as the {@code exec run} and {@code exec quiet}
+     * commands.
+     *
+     * @param file The script.
+     * @param echo If every command should be logged before it runs, like {@link #execCommand(String)} does.
+     * @return If the script was read and all its commands were executed or started without errors.
+     */
+    boolean execScript(FileHandle file, boolean echo);
+
+    /**
+     * @param executor Runs async commands. If null (default), they run on daemon threads created by the console as needed.
+     */
+    void setAsyncExecutor(Executor executor);
+
+    /**
+     * @param millis Async commands still running after this long are cancelled, which interrupts their thread. Checked once per
+     *               {@link #draw()} or {@link HeadlessConsole#update()}. 0 (default) for no timeout.
+     */
+    void setAsyncCommandTimeout(long millis);
 
     /**
      * Returns if the given screen coordinates hit the console.
@@ -331,6 +456,14 @@ public interface Console {
      */
     void setSubmitText(String text);
 
+    /**
+     * Works only for GUIConsole. Draws the text of all visible log entries from a single font cache instead of one actor per entry,
+     * which is cheaper when many entries are visible at once. Disabled by default.
+     *
+     * @param enable Whether to draw the log from a single font cache.
+     */
+    void enableFontCacheRendering(boolean enable);
+
     /**
      * Returns the Console's Window object.
      *
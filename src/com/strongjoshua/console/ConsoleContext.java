@@ -13,33 +13,21 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 
 public class ConsoleContext {
     private Table root;
-    private Label label, copy;
+    private Label copy;
+    private String text;
     private InputListener stageListener;
 
-    ConsoleContext(Class<? extends Table> tableClass, Class<? extends Label> labelClass, Skin skin, String background) {
-        try {
-            root = tableClass.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("Table class does not support empty constructor.");
-        }
-        try {
-            copy = labelClass.getConstructor(CharSequence.class, Skin.class).newInstance("Copy", skin);
-        } catch (Exception e) {
-            try {
-                copy = labelClass.getConstructor(CharSequence.class).newInstance("Copy");
-            } catch (Exception e2) {
-                throw new RuntimeException(
-                        "Label class does not support either (<CharSequence>, <Skin>) or (<CharSequence>) constructors.");
-            }
-        }
+    ConsoleContext(ConsoleWidgetFactory widgetFactory, Skin skin) {
+        root = widgetFactory.newTable(skin);
+        copy = widgetFactory.newLabel("Copy", skin);
         copy.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 if (event.getPointer() != 0)
                     return;
-                if (label == null)
-                    throw new RuntimeException("Trying to copy a null label (this should never happen).");
-                Gdx.app.getClipboard().setContents(label.getText().toString().trim());
+                if (text == null)
+                    throw new RuntimeException("Trying to copy a null text (this should never happen).");
+                Gdx.app.getClipboard().setContents(text.trim());
                 ConsoleContext.this.remove();
             }
         });
@@ -47,7 +35,7 @@ public class ConsoleContext {
 
         root.add(copy);
         root.pad(5);
-        root.setBackground(skin.getDrawable(background));
+        root.setBackground(skin.getDrawable(widgetFactory.getTableBackground()));
         root.setSize(root.getPrefWidth(), root.getPrefHeight());
 
         stageListener = new InputListener() {
@@ -60,8 +48,8 @@ public class ConsoleContext {
         };
     }
 
-    void setLabel(Label l) {
-        label = l;
+    void setText(String text) {
+        this.text = text;
     }
 
     protected void setStage(Stage stage) {
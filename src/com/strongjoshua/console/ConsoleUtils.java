@@ -45,15 +45,20 @@ public final class ConsoleUtils {
     }
 
     public static StringBuilder methodParamsToString(Method method, StringBuilder builder) {
+        ConsoleCommand annotation = method.getDeclaredAnnotation(ConsoleCommand.class).getAnnotation(ConsoleCommand.class);
+        return paramsToString(method.getParameterTypes(), annotation.parameterNames(), builder);
+    }
+
+    public static StringBuilder methodParamsToString(CommandMethod method, StringBuilder builder) {
+        return paramsToString(method.getParameterTypes(), method.getParameterNames(), builder);
+    }
+
+    private static StringBuilder paramsToString(Class<?>[] params, String[] names, StringBuilder builder) {
         builder.append("(");
-        Class<?>[] params = method.getParameterTypes();
         if (params.length > 0) {
             for (int i = 0; i < params.length; i++) {
-                ConsoleCommand annotation = method
-                        .getDeclaredAnnotation(ConsoleCommand.class)
-                        .getAnnotation(ConsoleCommand.class);
-                if (annotation.parameterNames().length > i) {
-                    builder.append(annotation.parameterNames()[i]);
+                if (names.length > i) {
+                    builder.append(names[i]);
                     builder.append(":");
                 }
 
@@ -70,6 +75,10 @@ public final class ConsoleUtils {
         return builder;
     }
 
+    /**
+     * @deprecated Consoles resolve arguments through their {@link ArgumentConverters}, which do not throw on bad input.
+     */
+    @Deprecated
     public static Object[] parseCommandArgs(Method method, String[] stringArgs) throws Exception {
         Class<?>[] params = method.getParameterTypes();
         Object[] args = new Object[stringArgs.length];
@@ -109,6 +118,42 @@ public final class ConsoleUtils {
         return console.isDisplayHiddenCommandsEnabled() || !method.isAnnotationPresent(HiddenCommand.class);
     }
 
+    public static boolean canExecuteCommand(Console console, CommandMethod method) {
+        return console.isExecuteHiddenCommandsEnabled() || !method.isHidden();
+    }
+
+    public static boolean canDisplayCommand(Console console, CommandMethod method) {
+        return console.isDisplayHiddenCommandsEnabled() || !method.isHidden();
+    }
+
+    /**
+     * Replaces each {@code {}} in the pattern with the next argument, like SLF4J. Surplus placeholders are kept as they are, surplus
+     * arguments are ignored.
+     *
+     * @param pattern The message pattern.
+     * @param args    The arguments, converted with {@link String#valueOf(Object)}.
+     * @return The formatted message.
+     */
+    public static String format(String pattern, Object[] args) {
+        if (pattern == null) {
+            return "null";
+        }
+        if (args == null || args.length == 0) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        int start = 0;
+        for (Object arg : args) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            builder.append(pattern, start, placeholder).append(arg);
+            start = placeholder + 2;
+        }
+        return builder.append(pattern, start, pattern.length()).toString();
+    }
+
     public static String exceptionToString(final Throwable throwable) {
         StringBuilder result = new StringBuilder();
         Throwable cause = throwable;
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.Window;
+
+/**
+ * Creates the widgets of a {@link GUIConsole}, so that it can be built from any scene2d based UI library. See
+ * {@link DefaultWidgetFactory} for plain scene2d widgets.
+ * <p>
+ * The skin passed to every method is the one given to the console, which may be ignored by libraries that manage their own skin.
+ */
+public interface ConsoleWidgetFactory {
+    Window newWindow(String title, Skin skin);
+
+    Table newTable(Skin skin);
+
+    /**
+     * @param style The skin's default text field style, with its font replaced by the console font.
+     */
+    TextField newTextField(String text, TextFieldStyle style, Skin skin);
+
+    TextButton newTextButton(String text, Skin skin);
+
+    Label newLabel(CharSequence text, Skin skin);
+
+    ScrollPane newScrollPane(Actor widget, Skin skin);
+
+    /**
+     * @return Name of the skin drawable used as the background of the context menu and to highlight log entries.
+     */
+    String getTableBackground();
+}
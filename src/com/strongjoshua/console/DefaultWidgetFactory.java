@@ -0,0 +1,77 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.Window;
+
+/**
+ * Creates plain scene2d widgets styled by the console's skin.
+ */
+public class DefaultWidgetFactory implements ConsoleWidgetFactory {
+    private final String tableBackground;
+
+    public DefaultWidgetFactory() {
+        this("default-rect");
+    }
+
+    /**
+     * @param tableBackground See {@link #getTableBackground()}.
+     */
+    public DefaultWidgetFactory(String tableBackground) {
+        this.tableBackground = tableBackground;
+    }
+
+    @Override
+    public Window newWindow(String title, Skin skin) {
+        return new Window(title, skin);
+    }
+
+    @Override
+    public Table newTable(Skin skin) {
+        return new Table();
+    }
+
+    @Override
+    public TextField newTextField(String text, TextFieldStyle style, Skin skin) {
+        return new TextField(text, style);
+    }
+
+    @Override
+    public TextButton newTextButton(String text, Skin skin) {
+        return new TextButton(text, skin);
+    }
+
+    @Override
+    public Label newLabel(CharSequence text, Skin skin) {
+        return new Label(text, skin);
+    }
+
+    @Override
+    public ScrollPane newScrollPane(Actor widget, Skin skin) {
+        return new ScrollPane(widget, skin);
+    }
+
+    @Override
+    public String getTableBackground() {
+        return tableBackground;
+    }
+}
@@ -17,6 +17,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.Vector2;
@@ -27,12 +28,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldListener;
 import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.DragScrollListener;
-import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.SnapshotArray;
 
 import java.util.Collection;
-import java.util.Collections;
 
 /**
  * A simple console that allows live logging, and live execution of methods, from within an application. Please see the <a
@@ -49,21 +47,30 @@ public class GUIConsole extends AbstractConsole {
     private InputProcessor appInput;
     private InputMultiplexer multiplexer;
     private Stage stage;
+    private ConsoleInput input;
     private CommandHistory commandHistory;
     private CommandCompleter commandCompleter;
     private Window consoleWindow;
     private boolean hasHover;
-    private Color hoverColor, noHoverColor;
+    private Color hoverColor = new Color(1, 1, 1, 1), noHoverColor = new Color(1, 1, 1, 1);
     private Vector3 stageCoords = new Vector3();
     private ScrollPane scroll;
+    private boolean logChanged;
 
-    private Class<? extends Table> tableClass;
-    private String tableBackground;
+    private Skin skin;
+    private AssetManager assetManager;
+    private String skinFile;
 
-    private Class<? extends TextField> textFieldClass;
-    private Class<? extends TextButton> textButtonClass;
-    private Class<? extends Label> labelClass;
-    private Class<? extends ScrollPane> scrollPaneClass;
+    // settings given before the UI was built, applied once it is
+    private float windowWidth = 50, windowHeight = 50, windowX = 50, windowY = 50;
+    private boolean sizeInPercent = true, positionInPercent = true;
+    private String title = "Console";
+    private boolean selected = true;
+    private boolean submitEnabled;
+    private String submitText;
+    private boolean fontCacheRendering;
+
+    private ConsoleWidgetFactory widgetFactory;
 
     /**
      * Creates the console using the default skin.<br>
@@ -74,7 +81,7 @@ public class GUIConsole extends AbstractConsole {
      * @see Console#dispose()
      */
     public GUIConsole() {
-        this(new Skin(Gdx.files.classpath("default_skin/uiskin.json")));
+        this((Skin) null);
     }
 
     /**
@@ -83,7 +90,8 @@ public class GUIConsole extends AbstractConsole {
      * console uses a multiplexer to circumvent it).
      * <br>Default key toggle is apostrophe: '
      *
-     * @param skin Uses skins for Label, TextField, and Table. Skin <b>must</b> contain a font called 'default-font'.
+     * @param skin Uses skins for Label, TextField, and Table. Skin <b>must</b> contain a font called 'default-font'. If null, the
+     *             default skin is loaded once the console is first shown.
      * @see Console#dispose()
      */
     public GUIConsole(Skin skin) {
@@ -100,7 +108,7 @@ public class GUIConsole extends AbstractConsole {
      * @see Console#dispose()
      */
     public GUIConsole(boolean useMultiplexer) {
-        this(new Skin(Gdx.files.classpath("default_skin/uiskin.json")), useMultiplexer);
+        this((Skin) null, useMultiplexer);
     }
 
     /**
@@ -128,63 +136,113 @@ public class GUIConsole extends AbstractConsole {
      * @see Console#dispose()
      */
     public GUIConsole(Skin skin, boolean useMultiplexer, int keyID) {
-        this(skin, useMultiplexer, keyID, Window.class, Table.class, "default-rect", TextField.class, TextButton.class,
-                Label.class, ScrollPane.class);
+        this(skin, useMultiplexer, keyID, new DefaultWidgetFactory());
+    }
+
+    /**
+     * Creates the console with a skin loaded by the given asset manager. The skin is queued right away, so it can be loaded in the
+     * background along with the application's other assets; it is only waited for if the console is shown before it finished.<br>
+     * <b>***IMPORTANT***</b> Call {@link Console#dispose()} to make your {@link InputProcessor} the default processor again (this
+     * console uses a multiplexer to circumvent it).
+     *
+     * @param assetManager   Loads the skin. The skin stays owned by the asset manager.
+     * @param skinFile       File name of the skin, see {@link #GUIConsole(Skin)}.
+     * @param useMultiplexer If internal multiplexer should be used
+     * @param keyID          Sets the key used to open/close the console (default is apostrophe: ')
+     * @see Console#dispose()
+     */
+    public GUIConsole(AssetManager assetManager, String skinFile, boolean useMultiplexer, int keyID) {
+        this((Skin) null, useMultiplexer, keyID);
+        this.assetManager = assetManager;
+        this.skinFile = skinFile;
+        assetManager.load(skinFile, Skin.class);
     }
 
+    /**
+     * Creates the console with widgets of the given classes, which need constructors matching those of the scene2d widgets they
+     * extend.
+     *
+     * @see #GUIConsole(Skin, boolean, int, ConsoleWidgetFactory)
+     */
     public GUIConsole(Skin skin, boolean useMultiplexer, int keyID, Class<? extends Window> windowClass,
                       Class<? extends Table> tableClass, String tableBackground, Class<? extends TextField> textFieldClass,
                       Class<? extends TextButton> textButtonClass, Class<? extends Label> labelClass,
                       Class<? extends ScrollPane> scrollPaneClass) {
+        this(skin, useMultiplexer, keyID, new ReflectionWidgetFactory(windowClass, tableClass, tableBackground, textFieldClass,
+                textButtonClass, labelClass, scrollPaneClass));
+    }
 
-        this.tableClass = tableClass;
-        this.tableBackground = tableBackground;
-        this.textFieldClass = textFieldClass;
-        this.textButtonClass = textButtonClass;
-        this.labelClass = labelClass;
-        this.scrollPaneClass = scrollPaneClass;
+    /**
+     * Creates the console with widgets from the given factory, e.g. to use another scene2d based UI library.<br>
+     * <b>***IMPORTANT***</b> Call {@link Console#dispose()} to make your {@link InputProcessor} the default processor again (this
+     * console uses a multiplexer to circumvent it).
+     *
+     * @param skin           Passed to the factory. Skin <b>must</b> contain a font called 'default-font'. If null, the default skin is
+     *                       loaded once the console is first shown.
+     * @param useMultiplexer If internal multiplexer should be used
+     * @param keyID          Sets the key used to open/close the console (default is apostrophe: ')
+     * @param widgetFactory  Creates all widgets of the console.
+     * @see Console#dispose()
+     */
+    public GUIConsole(Skin skin, boolean useMultiplexer, int keyID, ConsoleWidgetFactory widgetFactory) {
+        this.skin = skin;
+        this.widgetFactory = widgetFactory;
 
         this.keyID = keyID;
-        stage = new Stage();
-        display = new ConsoleDisplay(skin);
+        input = new ConsoleInput();
         commandHistory = new CommandHistory();
         commandCompleter = new CommandCompleter();
-        logToSystem = false;
+        setLoggingToSystem(false);
 
         usesMultiplexer = useMultiplexer;
         if (useMultiplexer) {
             resetInputProcessing();
         }
+    }
+
+    /**
+     * Builds the stage and all widgets. Logging and executing commands does not need any of them, so this is put off until the console
+     * is first shown or its window is asked for.
+     */
+    private void build() {
+        if (stage != null) {
+            return;
+        }
+        if (skin == null) {
+            if (assetManager != null) {
+                assetManager.finishLoadingAsset(skinFile);
+                skin = assetManager.get(skinFile, Skin.class);
+            } else {
+                skin = new Skin(Gdx.files.classpath("default_skin/uiskin.json"));
+            }
+        }
+        stage = new Stage();
+        display = new ConsoleDisplay(skin);
 
         display.root.pad(4);
         display.root.padTop(22);
         display.root.setFillParent(true);
-        display.showSubmit(false);
-
-        try {
-            consoleWindow = windowClass.getConstructor(String.class, Skin.class).newInstance("Console", skin);
-        } catch (Exception e) {
-            try {
-                consoleWindow = windowClass.getConstructor(String.class).newInstance("Console");
-            } catch (Exception e2) {
-                throw new RuntimeException("Window class does not support either (<String>, <Skin>) or (<String>) constructors.");
-            }
+        if (submitText != null) {
+            display.setSubmitText(submitText);
         }
+        display.showSubmit(submitEnabled);
+        display.logView.setUseFontCache(fontCacheRendering);
+
+        consoleWindow = widgetFactory.newWindow(title, skin);
         consoleWindow.setMovable(true);
         consoleWindow.setResizable(true);
         consoleWindow.setKeepWithinStage(true);
         consoleWindow.addActor(display.root);
         consoleWindow.setTouchable(Touchable.disabled);
-
-        hoverColor = new Color(1, 1, 1, 1);
-        noHoverColor = new Color(1, 1, 1, 1);
+        refreshWindowColor();
 
         stage.addListener(new DisplayListener());
         stage.addActor(consoleWindow);
         stage.setKeyboardFocus(display.root);
 
-        setSizePercent(50, 50);
-        setPositionPercent(50, 50);
+        applySize();
+        applyPosition();
+        logChanged = true;
     }
 
     @Override
@@ -198,8 +256,8 @@ public class GUIConsole extends AbstractConsole {
 
     @Override
     public void clear() {
-        log.getLogEntries().clear();
-        display.refresh();
+        log.clear();
+        logChanged = true;
     }
 
     @Override
@@ -207,7 +265,10 @@ public class GUIConsole extends AbstractConsole {
         if (width <= 0 || height <= 0) {
             throw new IllegalArgumentException("Pixel size must be greater than 0.");
         }
-        consoleWindow.setSize(width, height);
+        windowWidth = width;
+        windowHeight = height;
+        sizeInPercent = false;
+        applySize();
     }
 
     @Override
@@ -218,13 +279,30 @@ public class GUIConsole extends AbstractConsole {
         if (wPct > 100 || hPct > 100) {
             throw new IllegalArgumentException("Size percentage cannot be greater than 100.");
         }
-        float w = Gdx.graphics.getWidth(), h = Gdx.graphics.getHeight();
-        consoleWindow.setSize(w * wPct / 100.0f, h * hPct / 100.0f);
+        windowWidth = wPct;
+        windowHeight = hPct;
+        sizeInPercent = true;
+        applySize();
+    }
+
+    private void applySize() {
+        if (consoleWindow == null) {
+            return;
+        }
+        if (sizeInPercent) {
+            float w = Gdx.graphics.getWidth(), h = Gdx.graphics.getHeight();
+            consoleWindow.setSize(w * windowWidth / 100.0f, h * windowHeight / 100.0f);
+        } else {
+            consoleWindow.setSize(windowWidth, windowHeight);
+        }
     }
 
     @Override
     public void setPosition(int x, int y) {
-        consoleWindow.setPosition(x, y);
+        windowX = x;
+        windowY = y;
+        positionInPercent = false;
+        applyPosition();
     }
 
     @Override
@@ -232,8 +310,22 @@ public class GUIConsole extends AbstractConsole {
         if (xPosPct > 100 || yPosPct > 100) {
             throw new IllegalArgumentException("Error: The console would be drawn outside of the screen.");
         }
-        float w = Gdx.graphics.getWidth(), h = Gdx.graphics.getHeight();
-        consoleWindow.setPosition(w * xPosPct / 100.0f, h * yPosPct / 100.0f);
+        windowX = xPosPct;
+        windowY = yPosPct;
+        positionInPercent = true;
+        applyPosition();
+    }
+
+    private void applyPosition() {
+        if (consoleWindow == null) {
+            return;
+        }
+        if (positionInPercent) {
+            float w = Gdx.graphics.getWidth(), h = Gdx.graphics.getHeight();
+            consoleWindow.setPosition(w * windowX / 100.0f, h * windowY / 100.0f);
+        } else {
+            consoleWindow.setPosition(windowX, windowY);
+        }
     }
 
     @Override
@@ -247,11 +339,11 @@ public class GUIConsole extends AbstractConsole {
                 return;
             }
             multiplexer = new InputMultiplexer();
-            multiplexer.addProcessor(stage);
+            multiplexer.addProcessor(input);
             multiplexer.addProcessor(appInput);
             Gdx.input.setInputProcessor(multiplexer);
         } else {
-            Gdx.input.setInputProcessor(stage);
+            Gdx.input.setInputProcessor(input);
         }
     }
 
@@ -264,7 +356,7 @@ public class GUIConsole extends AbstractConsole {
      */
     private boolean hasStage(InputProcessor processor) {
         if (!(processor instanceof InputMultiplexer)) {
-            return processor == stage;
+            return processor == stage || processor == input;
         }
         InputMultiplexer im = (InputMultiplexer) processor;
         SnapshotArray<InputProcessor> ips = im.getProcessors();
@@ -276,20 +368,27 @@ public class GUIConsole extends AbstractConsole {
         return false;
     }
 
+    /**
+     * @return Forwards all input to the console's stage while it is visible. While it is hidden, only checks for the display key.
+     */
     @Override
     public InputProcessor getInputProcessor() {
-        return stage;
+        return input;
     }
 
     @Override
     public void draw() {
-        if (disabled) {
+        if (drainLogQueue() > 0) {
+            logChanged = true;
+        }
+        cancelTimedOutCommands();
+        // nothing to do while hidden, the log view catches up once it is shown again
+        if (disabled || hidden) {
             return;
         }
         stage.act();
-
-        if (hidden) {
-            return;
+        if (logChanged) {
+            display.refresh();
         }
         stage.draw();
     }
@@ -301,6 +400,10 @@ public class GUIConsole extends AbstractConsole {
 
     @Override
     public void refresh(boolean retain) {
+        if (stage == null) {
+            // the window is sized from the recorded settings when it is built
+            return;
+        }
         float oldWPct = 0, oldHPct = 0, oldXPosPct = 0, oldYPosPct = 0;
         if (retain) {
             oldWPct = consoleWindow.getWidth() / stage.getWidth() * 100;
@@ -318,14 +421,17 @@ public class GUIConsole extends AbstractConsole {
     }
 
     @Override
-    public void log(String msg, LogLevel level) {
-        super.log(msg, level);
-        display.refresh();
+    protected void log(LogEntry entry) {
+        super.log(entry);
+        // the view is updated once per frame in draw(), entries of other threads mark it there once they are drained
+        if (isLogThread()) {
+            logChanged = true;
+        }
     }
 
     @Override
     public void setDisabled(boolean disabled) {
-        if (disabled) {
+        if (disabled && display != null) {
             display.setHidden(true);
         }
         this.disabled = disabled;
@@ -358,7 +464,10 @@ public class GUIConsole extends AbstractConsole {
         if (usesMultiplexer && appInput != null) {
             Gdx.input.setInputProcessor(appInput);
         }
-        stage.dispose();
+        if (stage != null) {
+            stage.dispose();
+        }
+        super.dispose();
     }
 
     @Override
@@ -368,26 +477,42 @@ public class GUIConsole extends AbstractConsole {
 
     @Override
     public void setVisible(boolean visible) {
-        display.setHidden(!visible);
+        if (visible) {
+            build();
+        }
+        if (display != null) {
+            display.setHidden(!visible);
+        }
     }
 
     @Override
     public void select() {
-        display.select();
+        selected = true;
+        if (display != null) {
+            display.select();
+        }
     }
 
     @Override
     public void deselect() {
-        display.deselect();
+        selected = false;
+        if (display != null) {
+            display.deselect();
+        }
     }
 
     @Override
     public void setTitle(String title) {
-        consoleWindow.getTitleLabel().setText(title);
+        this.title = title;
+        if (consoleWindow != null) {
+            consoleWindow.getTitleLabel().setText(title);
+        }
     }
 
     private void refreshWindowColor() {
-        consoleWindow.setColor(hasHover ? hoverColor : noHoverColor);
+        if (consoleWindow != null) {
+            consoleWindow.setColor(hasHover ? hoverColor : noHoverColor);
+        }
     }
 
     @Override
@@ -416,38 +541,51 @@ public class GUIConsole extends AbstractConsole {
 
     @Override
     public void enableSubmitButton(boolean enable) {
-        display.showSubmit(enable);
+        submitEnabled = enable;
+        if (display != null) {
+            display.showSubmit(enable);
+        }
     }
 
     @Override
     public void setSubmitText(String text) {
-        display.setSubmitText(text);
+        submitText = text;
+        if (display != null) {
+            display.setSubmitText(text);
+        }
+    }
+
+    @Override
+    public void enableFontCacheRendering(boolean enable) {
+        fontCacheRendering = enable;
+        if (display != null) {
+            display.logView.setUseFontCache(enable);
+        }
     }
 
+    /**
+     * Builds the console's UI if it was not shown yet.
+     */
     @Override
     public Window getWindow() {
+        build();
         return this.consoleWindow;
     }
 
     private class ConsoleDisplay {
-        private Table root, logEntries;
+        private Table root;
+        private LogView logView;
         private TextField input;
         private TextButton submit;
         private Skin skin;
-        private Array<Label> labels;
         private String fontName;
-        private boolean selected = true;
         private ConsoleContext context;
         private Cell<TextButton> submitCell;
 
         ConsoleDisplay(Skin skin) {
-            try {
-                root = tableClass.newInstance();
-            } catch (Exception e) {
-                throw new RuntimeException("Table class does not support empty constructor.");
-            }
+            root = widgetFactory.newTable(skin);
             this.skin = skin;
-            context = new ConsoleContext(tableClass, labelClass, skin, tableBackground);
+            context = new ConsoleContext(widgetFactory, skin);
 
             if (skin.has("console-font", BitmapFont.class))
                 fontName = "console-font";
@@ -457,31 +595,22 @@ public class GUIConsole extends AbstractConsole {
             TextFieldStyle tfs = skin.get(TextFieldStyle.class);
             tfs.font = skin.getFont(fontName);
 
-            labels = new Array<Label>();
-
-            try {
-                logEntries = tableClass.newInstance();
-            } catch (Exception e) {
-                throw new RuntimeException("Table class does not support empty constructor.");
-            }
+            logView = new LogView(log, skin.getFont(fontName), skin.getDrawable(widgetFactory.getTableBackground()));
+            logView.addListener(new ClickListener() {
+                @Override
+                public void clicked(InputEvent event, float x, float y) {
+                    LogEntry entry = logView.getEntryAt(y);
+                    if (entry != null) {
+                        Vector2 pos = logView.localToStageCoordinates(new Vector2(x, y));
+                        openContext(entry.toConsoleString(), pos.x, pos.y);
+                    }
+                }
+            });
 
-            try {
-                input = textFieldClass.getConstructor(String.class, TextFieldStyle.class).newInstance("", tfs);
-            } catch (Exception e) {
-                throw new RuntimeException("TextField class does not support (<String>, <Skin>) constructor.");
-            }
+            input = widgetFactory.newTextField("", tfs, skin);
             input.setTextFieldListener(new FieldListener());
 
-            try {
-                submit = textButtonClass.getConstructor(String.class, Skin.class).newInstance("Submit", skin);
-            } catch (Exception e) {
-                try {
-                    submit = textButtonClass.getConstructor(String.class).newInstance("Submit");
-                } catch (Exception e2) {
-                    throw new RuntimeException(
-                            "TextButton class does not support either (<String>, <Skin>) or (<String>) constructors.");
-                }
-            }
+            submit = widgetFactory.newTextButton("Submit", skin);
             submit.addListener(new ClickListener() {
                 @Override
                 public void clicked(InputEvent event, float x, float y) {
@@ -489,16 +618,7 @@ public class GUIConsole extends AbstractConsole {
                 }
             });
 
-            try {
-                scroll = scrollPaneClass.getConstructor(Actor.class, Skin.class).newInstance(logEntries, skin);
-            } catch (Exception e) {
-                try {
-                    scroll = scrollPaneClass.getConstructor(Actor.class).newInstance(logEntries);
-                } catch (Exception e2) {
-                    throw new RuntimeException(
-                            "ScrollPane class does not support either (<Actor>, <Skin>) or (<Actor>) constructors.");
-                }
-            }
+            scroll = widgetFactory.newScrollPane(logView, skin);
             scroll.setFadeScrollBars(false);
             scroll.setScrollbarsOnTop(false);
             scroll.setOverscroll(false, false);
@@ -517,40 +637,8 @@ public class GUIConsole extends AbstractConsole {
         }
 
         void refresh() {
-            Array<LogEntry> entries = log.getLogEntries();
-            logEntries.clear();
-
-            // expand first so labels start at the bottom
-            logEntries.add().expand().fill().row();
-            int size = entries.size;
-            for (int i = 0; i < size; i++) {
-                LogEntry le = entries.get(i);
-                Label l;
-                // recycle the labels so we don't create new ones every refresh
-                if (labels.size > i) {
-                    l = labels.get(i);
-                } else {
-                    try {
-                        l = labelClass.getConstructor(CharSequence.class, Skin.class, String.class, Color.class)
-                                .newInstance("", skin, fontName, LogLevel.DEFAULT.getColor());
-                    } catch (Exception e) {
-                        try {
-                            l = labelClass.getConstructor(CharSequence.class, String.class, Color.class)
-                                    .newInstance("", fontName, LogLevel.DEFAULT.getColor());
-                        } catch (Exception e2) {
-                            throw new RuntimeException(
-                                    "Label class does not support either (<String>, <Skin>, <String>, <Color>) or (<String>, <String>, <Color>) constructors.");
-                        }
-                    }
-                    l.setWrap(true);
-                    labels.add(l);
-                    l.addListener(new LogListener(l, skin.getDrawable(tableBackground)));
-                }
-                // I'm not sure about the extra space, but it makes the label highlighting look much better with VisUI
-                l.setText(" " + le.toConsoleString());
-                l.setColor(le.getColor());
-                logEntries.add(l).expandX().fillX().top().left().row();
-            }
+            logChanged = false;
+            logView.refresh(scroll.getHeight());
             scroll.validate();
             scroll.setScrollPercentY(1);
         }
@@ -561,6 +649,8 @@ public class GUIConsole extends AbstractConsole {
                 consoleWindow.setTouchable(Touchable.disabled);
                 stage.setKeyboardFocus(null);
                 stage.setScrollFocus(null);
+                // the stage gets no more input until shown again
+                stage.cancelTouchFocus();
             } else {
                 input.setText("");
                 consoleWindow.setTouchable(Touchable.enabled);
@@ -571,7 +661,6 @@ public class GUIConsole extends AbstractConsole {
         }
 
         void select() {
-            selected = true;
             if (!hidden) {
                 stage.setKeyboardFocus(input);
                 stage.setScrollFocus(scroll);
@@ -579,13 +668,12 @@ public class GUIConsole extends AbstractConsole {
         }
 
         void deselect() {
-            selected = false;
             stage.setKeyboardFocus(null);
             stage.setScrollFocus(null);
         }
 
-        void openContext(Label label, float x, float y) {
-            context.setLabel(label);
+        void openContext(String text, float x, float y) {
+            context.setText(text);
             context.setPosition(x, y);
             context.setStage(stage);
         }
@@ -596,7 +684,7 @@ public class GUIConsole extends AbstractConsole {
 
         boolean submit() {
             String s = input.getText();
-            if (s.length() == 0 || s.split(" ").length == 0) {
+            if (CommandTokenizer.isBlank(s)) {
                 return false;
             }
             if (isHasCommandContainer()) {
@@ -621,6 +709,58 @@ public class GUIConsole extends AbstractConsole {
         }
     }
 
+    /**
+     * Keeps the stage out of the input path while the console is hidden, so that a hidden console costs no more than a key check.
+     */
+    private class ConsoleInput implements InputProcessor {
+        @Override
+        public boolean keyDown(int keycode) {
+            if (hidden) {
+                if (!disabled && keycode == keyID) {
+                    setVisible(true);
+                    return true;
+                }
+                return false;
+            }
+            return stage.keyDown(keycode);
+        }
+
+        @Override
+        public boolean keyUp(int keycode) {
+            return !hidden && stage.keyUp(keycode);
+        }
+
+        @Override
+        public boolean keyTyped(char character) {
+            return !hidden && stage.keyTyped(character);
+        }
+
+        @Override
+        public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+            return !hidden && stage.touchDown(screenX, screenY, pointer, button);
+        }
+
+        @Override
+        public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+            return !hidden && stage.touchUp(screenX, screenY, pointer, button);
+        }
+
+        @Override
+        public boolean touchDragged(int screenX, int screenY, int pointer) {
+            return !hidden && stage.touchDragged(screenX, screenY, pointer);
+        }
+
+        @Override
+        public boolean mouseMoved(int screenX, int screenY) {
+            return !hidden && stage.mouseMoved(screenX, screenY);
+        }
+
+        @Override
+        public boolean scrolled(int amount) {
+            return !hidden && stage.scrolled(amount);
+        }
+    }
+
     private class FieldListener implements TextFieldListener {
         @Override
         public void keyTyped(TextField textField, char c) {
@@ -643,13 +783,15 @@ public class GUIConsole extends AbstractConsole {
             if (disabled)
                 return false;
 
-            // reset command completer because input string may have changed
+            // the input string may change, the next completion narrows the candidates if it was only extended
             if (keycode != Keys.TAB) {
-                commandCompleter.reset();
+                commandCompleter.endCycle();
             }
 
             if (keycode == Keys.ENTER && !hidden) {
                 commandHistory.getNextCommand(); // Makes up arrow key repeat the same command after pressing enter
+                // the command may have changed the containers
+                commandCompleter.reset();
                 return display.submit();
             } else if (keycode == Keys.UP && !hidden) {
                 input.setText(commandHistory.getPreviousCommand());
@@ -664,8 +806,8 @@ public class GUIConsole extends AbstractConsole {
                 if (s.length() == 0) {
                     return false;
                 }
-                if (commandCompleter.isNew()) {
-                    commandCompleter.set(Collections.unmodifiableMap(_commandContainers), s);
+                if (!commandCompleter.isCycling()) {
+                    commandCompleter.set(_prefixCompletions, _commandIndices, s);
                 }
                 input.setText(commandCompleter.next());
                 input.setCursorPosition(input.getText().length());
@@ -703,34 +845,4 @@ public class GUIConsole extends AbstractConsole {
             refreshWindowColor();
         }
     }
-
-    private class LogListener extends ClickListener {
-        private Label self;
-        private Drawable highlighted;
-
-        LogListener(Label label, Drawable highlighted) {
-            self = label;
-            this.highlighted = highlighted;
-        }
-
-        @Override
-        public void clicked(InputEvent event, float x, float y) {
-            Vector2 pos = self.localToStageCoordinates(new Vector2(x, y));
-            display.openContext(self, pos.x, pos.y);
-        }
-
-        @Override
-        public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
-            if (pointer != -1)
-                return;
-            self.getStyle().background = highlighted;
-        }
-
-        @Override
-        public void exit(InputEvent event, float x, float y, int pointer, Actor toActor) {
-            if (pointer != -1)
-                return;
-            self.getStyle().background = null;
-        }
-    }
 }
@@ -14,7 +14,8 @@
 package com.strongjoshua.console;
 
 /**
- * Headless Console used for servers.
+ * Headless Console used for servers. Entries logged from other threads are printed right away, but only reach the in-memory log and
+ * other sinks that are not thread-safe when {@link #update()} is called.
  *
  * @author Eric
  */
@@ -23,6 +24,15 @@ public class HeadlessConsole extends AbstractConsole {
      * Creates an Headless console
      */
     public HeadlessConsole() {
-        logToSystem = true;
+        setLoggingToSystem(true);
+    }
+
+    /**
+     * Writes the entries logged from other threads since the last call to the sinks and cancels timed out async commands. Must be called
+     * from the thread that created the console, e.g. once per server tick.
+     */
+    public void update() {
+        drainLogQueue();
+        cancelTimedOutCommands();
     }
 }
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+/**
+ * Variant of {@link IConsoleAutoCompleterSupport} for containers with many options per parameter, e.g. entity ids or asset names.
+ * Instead of returning all options, the container is given the typed start of the parameter and hands matching options to a collector
+ * one by one until it has enough, so large domains can be filtered at their source. Takes precedence over
+ * {@link IConsoleAutoCompleterSupport} if a container implements both.
+ */
+public interface IConsoleAutoCompleterProvider {
+    /**
+     * @param parameterID The id given with {@link com.strongjoshua.console.annotation.ParameterOption#id()}.
+     * @param prefix      The typed start of the parameter. Options not starting with it are ignored.
+     * @param limit       The maximum number of options the collector takes.
+     * @param collector   Receives the matching options in any order.
+     */
+    void getAutocompleteOptions(int parameterID, String prefix, int limit, OptionCollector collector);
+
+    interface OptionCollector {
+        /**
+         * @return False once the collector does not take any more options.
+         */
+        boolean add(String option);
+    }
+}
@@ -16,55 +16,219 @@ package com.strongjoshua.console;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class Log {
-    private Array<LogEntry> logEntries;
+/**
+ * The in-memory {@link LogSink} of a console, holding its entries oldest first. Backed by a circular buffer, so adding an entry is
+ * O(1) even when the maximum number of entries is reached and the oldest one has to be evicted.
+ */
+public class Log extends AbstractLogSink implements Iterable<LogEntry> {
+    private LogEntry[] entries;
+    /**
+     * Index of the oldest entry in {@link #entries}.
+     */
+    private int head;
+    private int size;
     private int numEntries = Console.UNLIMITED_ENTRIES;
+    /**
+     * Number of entries ever added, including evicted ones.
+     */
+    private long totalEntries;
+    /**
+     * Value of {@link #totalEntries} at the last export.
+     */
+    private long exportedEntries;
+
+    private final StringBuilder line = new StringBuilder(128);
+    private char[] lineChars = new char[128];
 
     protected Log() {
-        logEntries = new Array<LogEntry>();
+        entries = new LogEntry[16];
     }
 
     public void setMaxEntries(int numEntries) {
         this.numEntries = numEntries;
+        if (numEntries != Console.UNLIMITED_ENTRIES && size > numEntries) {
+            // keep the newest entries
+            resize(numEntries, size - numEntries);
+        }
     }
 
     protected void addEntry(String msg, LogLevel level) {
-        logEntries.add(new LogEntry(msg, level));
-        if (logEntries.size > numEntries && numEntries != Console.UNLIMITED_ENTRIES) {
-            logEntries.removeIndex(0);
+        addEntry(new LogEntry(msg, level));
+    }
+
+    @Override
+    public void write(LogEntry entry) {
+        addEntry(entry);
+    }
+
+    protected void addEntry(LogEntry entry) {
+        totalEntries++;
+        if (numEntries != Console.UNLIMITED_ENTRIES && size >= numEntries) {
+            if (numEntries == 0) {
+                return;
+            }
+            // full: evict the oldest entry
+            entries[head] = null;
+            head = (head + 1) % entries.length;
+            entries[(head + size - 1) % entries.length] = entry;
+            return;
+        }
+        if (size == entries.length) {
+            int capacity = entries.length * 2;
+            if (numEntries != Console.UNLIMITED_ENTRIES) {
+                capacity = Math.min(capacity, numEntries);
+            }
+            resize(capacity, 0);
+        }
+        entries[(head + size) % entries.length] = entry;
+        size++;
+    }
+
+    /**
+     * Copies the entries starting at the given one into a new array of the given capacity, making the copied entries start at 0.
+     */
+    private void resize(int capacity, int skip) {
+        LogEntry[] newEntries = new LogEntry[Math.max(capacity, 1)];
+        int count = Math.min(size - skip, capacity);
+        for (int i = 0; i < count; i++) {
+            newEntries[i] = entries[(head + skip + i) % entries.length];
+        }
+        entries = newEntries;
+        head = 0;
+        size = count;
+    }
+
+    /**
+     * @return The number of entries currently held.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of entries ever added, including evicted and cleared ones.
+     */
+    public long getTotalEntries() {
+        return totalEntries;
+    }
+
+    /**
+     * @param index 0 for the oldest entry, {@link #size()} - 1 for the newest.
+     */
+    public LogEntry get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
         }
+        return entries[(head + index) % entries.length];
     }
 
+    /**
+     * @return A copy of the entries, oldest first. Changes to the returned array are not reflected in the log.
+     * @deprecated The entries are no longer held in an {@link Array}, so this copies all of them. Use {@link #get(int)} and
+     * {@link #size()} or iterate the log instead.
+     */
+    @Deprecated
     protected Array<LogEntry> getLogEntries() {
-        return logEntries;
+        Array<LogEntry> copy = new Array<>(true, Math.max(size, 1), LogEntry.class);
+        for (int i = 0; i < size; i++) {
+            copy.add(get(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[(head + i) % entries.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @return Iterates from the oldest to the newest entry. Must not be used while entries are added.
+     */
+    @Override
+    public Iterator<LogEntry> iterator() {
+        return new Iterator<LogEntry>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public LogEntry next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
     }
 
+    /**
+     * Writes all entries to the file, overwriting it.
+     *
+     * @return If the file was written successfully.
+     * @see #printToFile(FileHandle, boolean)
+     */
     public boolean printToFile(FileHandle fh) {
+        return printToFile(fh, false);
+    }
+
+    /**
+     * Streams the entries to the file through a buffered writer, one line per entry.
+     *
+     * @param append False to overwrite the file with all entries. True to append only the entries added since the last export (or
+     *               all, if there was none). Entries evicted in the meantime are skipped.
+     * @return If the file was written successfully.
+     */
+    public boolean printToFile(FileHandle fh, boolean append) {
         if (fh.isDirectory()) {
             throw new IllegalArgumentException("File cannot be a directory!");
         }
 
         Writer out = null;
         try {
-            out = fh.writer(false);
+            out = new BufferedWriter(fh.writer(append));
         } catch (Exception e) {
             return false;
         }
 
-        String toWrite = "";
-        for (LogEntry l : logEntries) {
-            toWrite += l.toString() + "\n";
-        }
-
+        long oldest = totalEntries - size;
+        long first = append ? Math.max(exportedEntries, oldest) : oldest;
         try {
-            out.write(toWrite);
+            for (long i = first; i < totalEntries; i++) {
+                line.setLength(0);
+                get((int) (i - oldest)).appendTo(line);
+                line.append('\n');
+
+                int length = line.length();
+                if (lineChars.length < length) {
+                    lineChars = new char[Math.max(length, lineChars.length * 2)];
+                }
+                line.getChars(0, length, lineChars, 0);
+                out.write(lineChars, 0, length);
+            }
             out.close();
+            exportedEntries = totalEntries;
             return true;
         } catch (IOException e) {
             e.printStackTrace();
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
             return false;
         }
     }
@@ -14,12 +14,30 @@
 package com.strongjoshua.console;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.utils.TimeUtils;
 
+import java.util.function.Supplier;
+
+/**
+ * A single logged message. Messages logged with a pattern or a {@link Supplier} are only formatted when {@link #getText()} is first
+ * called, i.e. when a sink or the console actually renders them.
+ */
 public class LogEntry {
-    private String text;
+    private volatile String text;
+    private String pattern;
+    private Object[] args;
+    private Supplier<String> supplier;
     private LogLevel level;
     private long timeStamp;
+    // set before the entry is handed to the console's thread
+    String threadTag;
+
+    // wrapped text and height of the entry in the GUI log, cached by LogView for the width and font they were laid out with
+    GlyphLayout glyphs;
+    BitmapFont layoutFont;
+    float layoutWidth = -1, layoutHeight;
 
     protected LogEntry(String msg, LogLevel level) {
         this.text = msg;
@@ -27,21 +45,91 @@ public class LogEntry {
         timeStamp = TimeUtils.millis();
     }
 
+    /**
+     * @param pattern Message where each {@code {}} is replaced with the next argument, see {@link ConsoleUtils#format(String, Object[])}.
+     */
+    protected LogEntry(LogLevel level, String pattern, Object[] args) {
+        this.pattern = pattern;
+        this.args = args;
+        this.level = level;
+        timeStamp = TimeUtils.millis();
+    }
+
+    protected LogEntry(LogLevel level, Supplier<String> supplier) {
+        this.supplier = supplier;
+        this.level = level;
+        timeStamp = TimeUtils.millis();
+    }
+
     public Color getColor() {
         return level.getColor();
     }
 
+    /**
+     * @return The message, formatted on the first call if it was logged lazily.
+     */
+    public String getText() {
+        String text = this.text;
+        if (text == null) {
+            synchronized (this) {
+                if (this.text == null) {
+                    this.text = supplier != null ? String.valueOf(supplier.get()) : ConsoleUtils.format(pattern, args);
+                    // drop references so logged objects can be collected
+                    pattern = null;
+                    args = null;
+                    supplier = null;
+                }
+                text = this.text;
+            }
+        }
+        return text;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return When the entry was logged, in milliseconds since the epoch.
+     */
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    /**
+     * @return The name of the thread the entry was logged from, or null if it was logged from the thread that created the console.
+     */
+    public String getThreadTag() {
+        return threadTag;
+    }
+
     protected String toConsoleString() {
         String r = "";
         if (level.equals(LogLevel.COMMAND)) {
             r += level.getIdentifier();
         }
-        r += text;
+        if (threadTag != null) {
+            r += "[" + threadTag + "] ";
+        }
+        r += getText();
         return r;
     }
 
+    /**
+     * Appends the same text as {@link #toString()} without creating a string.
+     */
+    void appendTo(StringBuilder builder) {
+        builder.append(timeStamp).append(": ").append(level.getIdentifier());
+        if (threadTag != null) {
+            builder.append('[').append(threadTag).append("] ");
+        }
+        builder.append(getText());
+    }
+
     @Override
     public String toString() {
-        return timeStamp + ": " + level.getIdentifier() + text;
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder);
+        return builder.toString();
     }
 }
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Vertical layout of a {@link Log}, stacked from the oldest entry at the top to the newest at the bottom. Only keeps heights and never
+ * creates actors, so that {@link LogView} can lay out just the entries inside the viewport.
+ * <p>
+ * The height of an entry is measured the first time it is needed and cached on the entry for the width and font it was measured with.
+ * Entries that were not measured with the current ones count with an estimated height until they are. When entries are added to or
+ * evicted from the log, only their heights are added to or subtracted from the total; all heights are only recalculated when the width
+ * or font changes.
+ */
+class LogLayout {
+    private final Log log;
+    private final Measurer measurer;
+    private float width = -1, estimatedHeight;
+    private BitmapFont font;
+    private float totalHeight;
+    private float firstOffset;
+
+    // heights of the entries currently in the log, indexed by their sequence number (see Log#getTotalEntries())
+    private float[] heights = new float[16];
+    private long firstSequence, endSequence;
+
+    // result of the last find, scrolling usually only moves a few entries from there
+    private long lastSequence = -1;
+    private float lastOffset;
+
+    LogLayout(Log log, Measurer measurer) {
+        this.log = log;
+        this.measurer = measurer;
+    }
+
+    /**
+     * Changes the width entries are wrapped at or the font they are drawn with. All heights measured with other values become
+     * estimates.
+     *
+     * @param font            The font, may be null if the measurer does not use one.
+     * @param estimatedHeight Height of a single line at the new width.
+     */
+    void setWidth(float width, BitmapFont font, float estimatedHeight) {
+        if (this.width == width && this.font == font && this.estimatedHeight == estimatedHeight) {
+            return;
+        }
+        this.width = width;
+        this.font = font;
+        this.estimatedHeight = estimatedHeight;
+        rebuild();
+    }
+
+    float getWidth() {
+        return width;
+    }
+
+    /**
+     * Recalculates the heights of all entries.
+     */
+    void rebuild() {
+        firstSequence = endSequence = log.getTotalEntries() - log.size();
+        totalHeight = 0;
+        lastSequence = -1;
+        update();
+    }
+
+    /**
+     * Adds the heights of entries added to the log since the last update and removes those of evicted entries. Everything else is left
+     * as it is.
+     */
+    void update() {
+        long end = log.getTotalEntries();
+        long first = end - log.size();
+        if (first >= endSequence) {
+            // everything was evicted or cleared
+            firstSequence = endSequence = first;
+            totalHeight = 0;
+        }
+        for (; firstSequence < first; firstSequence++) {
+            float height = heights[slot(firstSequence)];
+            totalHeight -= height;
+            lastOffset -= height;
+        }
+        if (end - first > heights.length) {
+            float[] newHeights = new float[Math.max(heights.length * 2, (int) (end - first))];
+            for (long sequence = first; sequence < endSequence; sequence++) {
+                newHeights[(int) (sequence % newHeights.length)] = heights[slot(sequence)];
+            }
+            heights = newHeights;
+        }
+        for (; endSequence < end; endSequence++) {
+            float height = heightOf(log.get((int) (endSequence - first)));
+            heights[slot(endSequence)] = height;
+            totalHeight += height;
+        }
+        if (lastSequence < first) {
+            lastSequence = -1;
+        }
+    }
+
+    /**
+     * @return The number of entries as of the last update.
+     */
+    int size() {
+        return (int) (endSequence - firstSequence);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % heights.length);
+    }
+
+    private float heightOf(LogEntry entry) {
+        return isMeasured(entry) ? entry.layoutHeight : estimatedHeight;
+    }
+
+    private boolean isMeasured(LogEntry entry) {
+        return entry.layoutWidth == width && entry.layoutFont == font;
+    }
+
+    /**
+     * @param index Index of the entry in the log, which must not have changed since the last update.
+     * @return The height of the entry, measured first if necessary.
+     */
+    float measure(int index) {
+        LogEntry entry = log.get(index);
+        int slot = slot(firstSequence + index);
+        if (!isMeasured(entry) && width > 0) {
+            float height = measurer.measure(entry, width);
+            entry.layoutWidth = width;
+            entry.layoutFont = font;
+            entry.layoutHeight = height;
+            float change = height - heights[slot];
+            heights[slot] = height;
+            totalHeight += change;
+            if (firstSequence + index < lastSequence) {
+                lastOffset += change;
+            }
+        }
+        return heights[slot];
+    }
+
+    /**
+     * Measures the newest entries until they fill the given height, so the bottom of the log is exact when scrolled to.
+     */
+    void measureTail(float height) {
+        for (int i = size() - 1; i >= 0 && height > 0; i--) {
+            height -= measure(i);
+        }
+    }
+
+    float getTotalHeight() {
+        return totalHeight;
+    }
+
+    /**
+     * Finds the entry at the given distance from the top of the log. Scans from the result of the previous call or from whichever end is
+     * closer, as the viewport is usually at the bottom and only moves a little between calls.
+     *
+     * @return The index of the entry, or the size of the log if the offset is past the end. Its distance from the top is stored in
+     * {@link #getFirstOffset()}.
+     */
+    int find(float offset) {
+        int size = size();
+        if (offset <= 0) {
+            firstOffset = 0;
+            return 0;
+        }
+        if (offset >= totalHeight) {
+            firstOffset = totalHeight;
+            return size;
+        }
+        int i;
+        float top;
+        if (lastSequence >= 0 && Math.abs(lastOffset - offset) < Math.min(offset, totalHeight - offset)) {
+            i = (int) (lastSequence - firstSequence);
+            top = lastOffset;
+        } else if (offset < totalHeight / 2) {
+            i = 0;
+            top = 0;
+        } else {
+            i = size;
+            top = totalHeight;
+        }
+        // move up until the entry starts above the offset, then down until it ends below it
+        while (i > 0 && top > offset) {
+            i--;
+            top -= heights[slot(firstSequence + i)];
+        }
+        while (i < size) {
+            float height = heights[slot(firstSequence + i)];
+            if (top + height > offset) {
+                break;
+            }
+            top += height;
+            i++;
+        }
+        lastSequence = firstSequence + i;
+        lastOffset = top;
+        firstOffset = top;
+        return i;
+    }
+
+    /**
+     * @return The index of the entry at the given distance from the top of the log, or -1 if there is none.
+     */
+    int indexAt(float offset) {
+        if (offset < 0 || offset >= totalHeight) {
+            return -1;
+        }
+        return find(offset);
+    }
+
+    /**
+     * @return The distance from the top of the log of the entry returned by the last {@link #find(float)}.
+     */
+    float getFirstOffset() {
+        return firstOffset;
+    }
+
+    interface Measurer {
+        /**
+         * @return The height of the entry when wrapped at the given width.
+         */
+        float measure(LogEntry entry, float width);
+    }
+}
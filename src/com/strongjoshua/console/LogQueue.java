@@ -0,0 +1,112 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue handing log entries from any number of threads to the console's thread without locks. Producers claim a slot of a ring
+ * buffer with a single compare-and-set; every slot has a sequence number that tells the consumer when the entry in it was published and
+ * the producers when it was taken again.
+ * <p>
+ * Only a single thread may call {@link #poll()}.
+ */
+class LogQueue {
+    private final LogEntry[] entries;
+    // slot i is free for the producer claiming position p when it holds p, and holds an entry for the consumer at position p when it
+    // holds p + 1
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicInteger dropped = new AtomicInteger();
+    // only used by the consumer
+    private long head;
+
+    /**
+     * @param capacity Rounded up to the next power of two.
+     */
+    LogQueue(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        entries = new LogEntry[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Can be called from any thread.
+     *
+     * @return False if the queue is full.
+     */
+    boolean offer(LogEntry entry) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[slot] = entry;
+                    // publishes the entry to the consumer
+                    sequences.lazySet(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the consumer has not taken the entry a full lap ago yet
+                return false;
+            } else {
+                // another producer claimed the position first
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return The oldest published entry, or null if there is none.
+     */
+    LogEntry poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return null;
+        }
+        LogEntry entry = entries[slot];
+        entries[slot] = null;
+        // frees the slot for the producer one lap ahead
+        sequences.lazySet(slot, head + entries.length);
+        head++;
+        return entry;
+    }
+
+    /**
+     * Counts an entry that was dropped because the queue was full. Can be called from any thread.
+     */
+    void drop() {
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * @return The number of entries dropped since the last call.
+     */
+    int takeDropped() {
+        return dropped.getAndSet(0);
+    }
+}
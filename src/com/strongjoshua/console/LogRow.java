@@ -0,0 +1,92 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+
+/**
+ * A row of {@link LogView}. Draws the {@link GlyphLayout} cached on its entry instead of laying out the text itself, so binding a row
+ * to an entry that was already measured costs no text layout at all.
+ */
+class LogRow extends Widget {
+    private final BitmapFontCache cache;
+    private final Drawable highlight;
+    private final Color tint = new Color();
+    private LogEntry entry;
+    private GlyphLayout glyphs;
+    private float layoutWidth;
+    private boolean highlighted;
+
+    /**
+     * @param highlight Drawn behind the text while the row is highlighted, may be null.
+     */
+    LogRow(BitmapFont font, Drawable highlight) {
+        cache = font.newFontCache();
+        this.highlight = highlight;
+    }
+
+    /**
+     * Shows the entry. Has to be called again when the cached layout of the entry changed.
+     */
+    void setEntry(LogEntry entry) {
+        this.entry = entry;
+        glyphs = entry.glyphs;
+        layoutWidth = entry.layoutWidth;
+        if (glyphs != null) {
+            // same position as a wrapped label that is exactly as high as its text
+            cache.setText(glyphs, 0, glyphs.height - cache.getFont().getDescent());
+        } else {
+            cache.clear();
+        }
+    }
+
+    LogEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * @return If the layout cached on the entry was replaced since the row was bound to it.
+     */
+    boolean isStale() {
+        return entry != null && (entry.glyphs != glyphs || entry.layoutWidth != layoutWidth);
+    }
+
+    void setHighlighted(boolean highlighted) {
+        this.highlighted = highlighted;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        Color color = getColor();
+        if (highlighted && highlight != null) {
+            batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+            highlight.draw(batch, getX(), getY(), getWidth(), getHeight());
+        }
+        if (entry == null) {
+            return;
+        }
+        // the layout is already colored by log level
+        tint.set(color);
+        tint.a *= parentAlpha;
+        cache.tint(tint);
+        cache.setPosition(getX(), getY());
+        cache.draw(batch);
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * Receives the entries logged to a console, see {@link Console#addLogSink(LogSink)}. Every sink filters the {@link LogLevel}s it
+ * wants; if no sink accepts a level, logging with it returns before an entry is even created.
+ * <p>
+ * Sinks that also implement {@link com.badlogic.gdx.utils.Disposable} are disposed together with the console.
+ *
+ * @see AbstractLogSink
+ */
+public interface LogSink {
+    /**
+     * Called for every log call, so this should be cheap.
+     *
+     * @return If entries of the level should be passed to {@link #write(LogEntry)}.
+     */
+    boolean accepts(LogLevel level);
+
+    /**
+     * @param entry An entry of an accepted level. The same entry is passed to all sinks and must not be modified.
+     */
+    void write(LogEntry entry);
+
+    /**
+     * @return If {@link #write(LogEntry)} may be called from any thread. Entries logged from other threads than the one that created the
+     * console are only queued for sinks that are not, see {@link Console#setLogQueuePolicy(BackpressurePolicy)}.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+}
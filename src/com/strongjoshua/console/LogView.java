@@ -0,0 +1,338 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Displays a {@link Log} inside a {@link ScrollPane}. Only the entries inside the scroll pane's viewport are drawn, so the cost of a
+ * frame depends on the size of the viewport and not on the size of the log. By default every visible entry is drawn by a {@link LogRow}
+ * taken from a pool and bound to entries as the log is scrolled. In font cache mode there are no rows at all: the text of all visible
+ * entries is put into a single {@link BitmapFontCache}, which is only rebuilt when the visible entries move.
+ * <p>
+ * The wrapped text of an entry is laid out once and cached on the entry with its height. It is only laid out again when the width of
+ * the view changes, and then only once the entry becomes visible. Hovering and clicking is handled by the view itself, which maps the
+ * position to an entry through its {@link LogLayout}.
+ */
+class LogView extends WidgetGroup implements Cullable, LogLayout.Measurer {
+    private final Log log;
+    private final LogLayout layout;
+    private final BitmapFont font;
+    private final Drawable highlight;
+    private final Pool<LogRow> rowPool;
+    private final GlyphLayout probe = new GlyphLayout();
+    private Rectangle cullingArea;
+    private float prefHeight;
+    private LogEntry hovered;
+
+    // entries inside the culling area as of the last draw, with their distance from the top of the log and their height
+    private final Array<LogEntry> visibleEntries = new Array<>();
+    private final FloatArray visibleOffsets = new FloatArray(), visibleHeights = new FloatArray();
+    private float logTop;
+
+    private ObjectMap<LogEntry, LogRow> rows = new ObjectMap<>(), oldRows = new ObjectMap<>();
+
+    private boolean useFontCache;
+    private BitmapFontCache textCache;
+    private final Array<LogEntry> cachedEntries = new Array<>();
+    private final FloatArray cachedPositions = new FloatArray();
+    private float cachedWidth;
+    private final Color tint = new Color();
+
+    /**
+     * @param font      The font entries are drawn with.
+     * @param highlight Drawn behind the entry under the mouse, may be null.
+     */
+    LogView(Log log, final BitmapFont font, final Drawable highlight) {
+        this.log = log;
+        this.font = font;
+        this.highlight = highlight;
+        layout = new LogLayout(log, this);
+        rowPool = new Pool<LogRow>() {
+            @Override
+            protected LogRow newObject() {
+                LogRow row = new LogRow(font, highlight);
+                row.setTouchable(Touchable.disabled);
+                return row;
+            }
+        };
+        setTransform(false);
+        addListener(new InputListener() {
+            @Override
+            public boolean mouseMoved(InputEvent event, float x, float y) {
+                hovered = getEntryAt(y);
+                return false;
+            }
+
+            @Override
+            public void exit(InputEvent event, float x, float y, int pointer, Actor toActor) {
+                if (pointer == -1) {
+                    hovered = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Updates the view after entries were added to or removed from the log. Only the new and the evicted entries are looked at.
+     *
+     * @param viewportHeight The newest entries filling this height are measured right away.
+     */
+    void refresh(float viewportHeight) {
+        layout.update();
+        layout.measureTail(viewportHeight);
+        invalidateHierarchy();
+    }
+
+    /**
+     * @param useFontCache If all entries should be drawn from a single font cache instead of one actor each.
+     */
+    void setUseFontCache(boolean useFontCache) {
+        this.useFontCache = useFontCache;
+        if (useFontCache && textCache == null) {
+            textCache = font.newFontCache();
+        }
+        cachedEntries.clear();
+    }
+
+    /**
+     * @param y Position in the local coordinates of the view.
+     * @return The entry drawn at that position, or null if there is none.
+     */
+    LogEntry getEntryAt(float y) {
+        layout.update();
+        int index = layout.indexAt(logTop - y);
+        return index < 0 ? null : log.get(index);
+    }
+
+    @Override
+    public float measure(LogEntry entry, float width) {
+        GlyphLayout glyphs = entry.glyphs;
+        if (glyphs == null) {
+            glyphs = new GlyphLayout();
+            entry.glyphs = glyphs;
+        }
+        // I'm not sure about the extra space, but it makes the highlighting look much better with VisUI
+        glyphs.setText(font, " " + entry.toConsoleString(), entry.getColor(), width, Align.left, true);
+        return heightOf(glyphs);
+    }
+
+    private float heightOf(GlyphLayout glyphs) {
+        // same as the preferred height of a label
+        return glyphs.height - font.getDescent() * 2;
+    }
+
+    @Override
+    public void layout() {
+        float width = getWidth();
+        if (width != layout.getWidth()) {
+            probe.setText(font, " ");
+            layout.setWidth(width, font, heightOf(probe));
+        }
+        checkPrefHeight();
+    }
+
+    /**
+     * Lets the scroll pane resize the view when the height of the log changed after it last asked for it.
+     */
+    private void checkPrefHeight() {
+        if (layout.getTotalHeight() != prefHeight) {
+            invalidateHierarchy();
+        }
+    }
+
+    @Override
+    public float getPrefWidth() {
+        // entries wrap to whatever width they are given
+        return 0;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        prefHeight = layout.getTotalHeight();
+        return prefHeight;
+    }
+
+    @Override
+    public void setCullingArea(Rectangle cullingArea) {
+        super.setCullingArea(cullingArea);
+        this.cullingArea = cullingArea;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        findVisibleEntries();
+        if (useFontCache) {
+            freeRows(null);
+            drawFontCache(batch, parentAlpha);
+        } else {
+            updateRows();
+            super.draw(batch, parentAlpha);
+        }
+        // measured heights may differ from the estimates
+        checkPrefHeight();
+    }
+
+    /**
+     * Finds and measures the entries inside the culling area.
+     */
+    private void findVisibleEntries() {
+        layout.update();
+        float height = getHeight();
+        float bottom = 0, top = height;
+        if (cullingArea != null) {
+            bottom = cullingArea.y;
+            top = cullingArea.y + cullingArea.height;
+        }
+        // the log is stacked from the top, but sticks to the bottom while it is shorter than the view
+        float logTop = Math.min(height, layout.getTotalHeight());
+
+        visibleEntries.clear();
+        visibleOffsets.clear();
+        visibleHeights.clear();
+        int size = layout.size();
+        int i = layout.find(logTop - top);
+        float offset = layout.getFirstOffset();
+        while (i < size && offset < logTop - bottom) {
+            visibleEntries.add(log.get(i));
+            float rowHeight = layout.measure(i);
+            visibleOffsets.add(offset);
+            visibleHeights.add(rowHeight);
+            offset += rowHeight;
+            i++;
+        }
+        this.logTop = Math.min(height, layout.getTotalHeight());
+    }
+
+    private float getEntryY(int visibleIndex) {
+        return logTop - visibleOffsets.get(visibleIndex) - visibleHeights.get(visibleIndex);
+    }
+
+    /**
+     * Binds a row to every visible entry and positions it. Rows of entries that are still visible are kept as they are.
+     */
+    private void updateRows() {
+        ObjectMap<LogEntry, LogRow> previous = rows;
+        rows = oldRows;
+        oldRows = previous;
+        for (LogEntry entry : visibleEntries) {
+            LogRow row = previous.remove(entry);
+            if (row != null) {
+                rows.put(entry, row);
+            }
+        }
+        freeRows(previous);
+
+        float width = getWidth();
+        for (int i = 0; i < visibleEntries.size; i++) {
+            LogEntry entry = visibleEntries.get(i);
+            LogRow row = rows.get(entry);
+            if (row == null) {
+                row = rowPool.obtain();
+                row.setEntry(entry);
+                rows.put(entry, row);
+                addActor(row);
+            } else if (row.isStale()) {
+                row.setEntry(entry);
+            }
+            row.setBounds(0, getEntryY(i), width, visibleHeights.get(i));
+            row.setHighlighted(entry == hovered);
+        }
+    }
+
+    /**
+     * @param toFree The rows to free, or null for all.
+     */
+    private void freeRows(ObjectMap<LogEntry, LogRow> toFree) {
+        if (toFree == null) {
+            if (rows.size == 0) {
+                return;
+            }
+            toFree = rows;
+        }
+        for (LogRow row : toFree.values()) {
+            row.setHighlighted(false);
+            row.remove();
+            rowPool.free(row);
+        }
+        toFree.clear();
+    }
+
+    private void drawFontCache(Batch batch, float parentAlpha) {
+        if (isTextCacheStale()) {
+            textCache.clear();
+            cachedEntries.clear();
+            cachedPositions.clear();
+            cachedWidth = getWidth();
+            for (int i = 0; i < visibleEntries.size; i++) {
+                LogEntry entry = visibleEntries.get(i);
+                float y = getEntryY(i);
+                cachedEntries.add(entry);
+                cachedPositions.add(y);
+                if (entry.glyphs != null) {
+                    // same position as in a LogRow
+                    textCache.addText(entry.glyphs, 0, y + entry.glyphs.height - font.getDescent());
+                }
+            }
+        }
+
+        Color color = getColor();
+        if (highlight != null && hovered != null) {
+            int index = visibleEntries.indexOf(hovered, true);
+            if (index >= 0) {
+                batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+                highlight.draw(batch, getX(), getY() + getEntryY(index), getWidth(), visibleHeights.get(index));
+            }
+        }
+        tint.set(color);
+        tint.a *= parentAlpha;
+        textCache.tint(tint);
+        textCache.setPosition(getX(), getY());
+        textCache.draw(batch);
+    }
+
+    /**
+     * @return If the visible entries, their positions or their layouts changed since the text cache was built.
+     */
+    private boolean isTextCacheStale() {
+        if (cachedWidth != getWidth() || cachedEntries.size != visibleEntries.size) {
+            return true;
+        }
+        for (int i = 0; i < visibleEntries.size; i++) {
+            if (cachedEntries.get(i) != visibleEntries.get(i) || cachedPositions.get(i) != getEntryY(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * {@link CommandInvoker} backed by a {@link MethodHandle} of the shape {@code (Object, Object[])Object}. Access is checked once when the
+ * handle is created instead of on every call as with {@link java.lang.reflect.Method#invoke(Object, Object...)}. The handle is kept in
+ * a field and not a constant, so the JIT still cannot inline the command method into the caller. Kept separate from
+ * {@link CommandInvokers} so platforms without {@code java.lang.invoke} never load it.
+ */
+class MethodHandleInvoker implements CommandInvoker {
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final String name;
+    private final MethodHandle handle;
+
+    MethodHandleInvoker(Method method) throws ReflectiveOperationException {
+        name = method.getName();
+        Class<?> declaringClass = method.getDeclaringClass();
+        java.lang.reflect.Method target = declaringClass.getMethod(name, method.getParameterTypes());
+        // the container is often an anonymous or private class, whose public methods are still not accessible
+        target.setAccessible(true);
+        handle = MethodHandles.lookup()
+                .unreflect(target)
+                .asSpreader(Object[].class, target.getParameterCount())
+                .asType(GENERIC_TYPE);
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws ReflectionException {
+        try {
+            return (Object) handle.invokeExact(target, args);
+        } catch (Throwable t) {
+            throw new ReflectionException("Exception occurred in method: " + name, t);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.Window;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Creates widgets of the classes given to {@link GUIConsole}'s class based constructor. The constructors are looked up once, preferring
+ * the ones that take a skin, so creating a widget is a single reflective call.
+ */
+class ReflectionWidgetFactory implements ConsoleWidgetFactory {
+    private final WidgetConstructor<Window> window;
+    private final Constructor<? extends Table> table;
+    private final Constructor<? extends TextField> textField;
+    private final WidgetConstructor<TextButton> textButton;
+    private final WidgetConstructor<Label> label;
+    private final WidgetConstructor<ScrollPane> scrollPane;
+    private final String tableBackground;
+
+    ReflectionWidgetFactory(Class<? extends Window> windowClass, Class<? extends Table> tableClass, String tableBackground,
+                            Class<? extends TextField> textFieldClass, Class<? extends TextButton> textButtonClass,
+                            Class<? extends Label> labelClass, Class<? extends ScrollPane> scrollPaneClass) {
+        this.tableBackground = tableBackground;
+        window = new WidgetConstructor<>(windowClass, "Window", String.class);
+        textButton = new WidgetConstructor<>(textButtonClass, "TextButton", String.class);
+        label = new WidgetConstructor<>(labelClass, "Label", CharSequence.class);
+        scrollPane = new WidgetConstructor<>(scrollPaneClass, "ScrollPane", Actor.class);
+        try {
+            table = tableClass.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Table class does not support empty constructor.");
+        }
+        try {
+            textField = textFieldClass.getConstructor(String.class, TextFieldStyle.class);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("TextField class does not support (<String>, <TextFieldStyle>) constructor.");
+        }
+    }
+
+    @Override
+    public Window newWindow(String title, Skin skin) {
+        return window.newInstance(title, skin);
+    }
+
+    @Override
+    public Table newTable(Skin skin) {
+        return newInstance(table);
+    }
+
+    @Override
+    public TextField newTextField(String text, TextFieldStyle style, Skin skin) {
+        return newInstance(textField, text, style);
+    }
+
+    @Override
+    public TextButton newTextButton(String text, Skin skin) {
+        return textButton.newInstance(text, skin);
+    }
+
+    @Override
+    public Label newLabel(CharSequence text, Skin skin) {
+        return label.newInstance(text, skin);
+    }
+
+    @Override
+    public ScrollPane newScrollPane(Actor widget, Skin skin) {
+        return scrollPane.newInstance(widget, skin);
+    }
+
+    @Override
+    public String getTableBackground() {
+        return tableBackground;
+    }
+
+    private static <T> T newInstance(Constructor<? extends T> constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not create " + constructor.getDeclaringClass().getName() + ".", e);
+        }
+    }
+
+    /**
+     * The (argument, skin) constructor of a widget class, or its (argument) constructor if there is none.
+     */
+    private static class WidgetConstructor<T> {
+        private Constructor<? extends T> withSkin, withoutSkin;
+
+        WidgetConstructor(Class<? extends T> type, String name, Class<?> argumentType) {
+            try {
+                withSkin = type.getConstructor(argumentType, Skin.class);
+            } catch (NoSuchMethodException e) {
+                try {
+                    withoutSkin = type.getConstructor(argumentType);
+                } catch (NoSuchMethodException e2) {
+                    String argument = argumentType.getSimpleName();
+                    throw new RuntimeException(name + " class does not support either (<" + argument + ">, <Skin>) or (<" + argument
+                            + ">) constructors.");
+                }
+            }
+        }
+
+        T newInstance(Object argument, Skin skin) {
+            return withSkin != null ? ReflectionWidgetFactory.newInstance(withSkin, argument, skin)
+                    : ReflectionWidgetFactory.newInstance(withoutSkin, argument);
+        }
+    }
+}
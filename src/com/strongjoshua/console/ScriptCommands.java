@@ -0,0 +1,37 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.Gdx;
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import com.strongjoshua.console.annotation.ConsoleDoc;
+
+public class ScriptCommands implements ICommandContainer {
+    private final AbstractConsole _console;
+
+    public ScriptCommands(AbstractConsole console) {
+        _console = console;
+    }
+
+    @Override
+    public String getCommandPrefix() {
+        return "exec";
+    }
+
+    @Override
+    public void defaultConsoleCommand() {
+        _console.log("Usage: exec run <file> or exec quiet <file>");
+    }
+
+    @ConsoleCommand(parameterNames = "file")
+    @ConsoleDoc(description = "Executes every command in the given file, logging each one before it runs.", paramDescriptions = {
+        "internal path of the script"})
+    public void run(String file) {
+        _console.execScript(Gdx.files.internal(file), true);
+    }
+
+    @ConsoleCommand(parameterNames = "file")
+    @ConsoleDoc(description = "Executes every command in the given file without logging them, only errors are logged.",
+        paramDescriptions = {"internal path of the script"})
+    public void quiet(String file) {
+        _console.execScript(Gdx.files.internal(file), false);
+    }
+}
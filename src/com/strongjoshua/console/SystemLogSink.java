@@ -0,0 +1,36 @@
+/**
+ * Copyright 2018 StrongJoshua (strongjoshua@hotmail.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.strongjoshua.console;
+
+/**
+ * Prints entries to {@link System#out}, or {@link System#err} for {@link LogLevel#ERROR}. Enable it through
+ * {@link Console#setLoggingToSystem(Boolean)} or by setting its levels.
+ */
+public class SystemLogSink extends AbstractLogSink {
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public void write(LogEntry entry) {
+        switch (entry.getLevel()) {
+            case ERROR:
+                System.err.println("> " + entry.getText());
+                break;
+            default:
+                System.out.println("> " + entry.getText());
+                break;
+        }
+    }
+}
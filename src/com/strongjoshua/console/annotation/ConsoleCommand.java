@@ -11,4 +11,10 @@ public @interface ConsoleCommand {
     String commandName() default "";
 
     String[] parameterNames() default {};
+
+    /**
+     * @return True to run the command on the console's executor instead of the thread executing it, for commands that take long.
+     * @see com.strongjoshua.console.Console#setAsyncExecutor(java.util.concurrent.Executor)
+     */
+    boolean async() default false;
 }
@@ -0,0 +1,77 @@
+package com.strongjoshua.console;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ArgumentConvertersTest {
+	private ArgumentConverters converters;
+
+	@Before public void setUp () {
+		converters = new ArgumentConverters();
+	}
+
+	private Object convert (Class<?> type, String value) {
+		return converters.get(type).convert(value, 0, value.length());
+	}
+
+	@Test public void shouldConvertTheFullRangeOfIntegerTypes () {
+		assertEquals(Byte.MIN_VALUE, convert(byte.class, "" + Byte.MIN_VALUE));
+		assertEquals(Short.MAX_VALUE, convert(Short.class, "" + Short.MAX_VALUE));
+		assertEquals(Integer.MIN_VALUE, convert(int.class, "" + Integer.MIN_VALUE));
+		assertEquals(Long.MIN_VALUE, convert(long.class, "" + Long.MIN_VALUE));
+		assertEquals(Long.MAX_VALUE, convert(Long.class, "" + Long.MAX_VALUE));
+	}
+
+	@Test public void shouldFailInsteadOfThrowingForOutOfRangeIntegers () {
+		assertSame(ArgumentConverter.FAILED, convert(byte.class, "128"));
+		assertSame(ArgumentConverter.FAILED, convert(int.class, "" + (Integer.MAX_VALUE + 1L)));
+		assertSame(ArgumentConverter.FAILED, convert(long.class, "9223372036854775808"));
+	}
+
+	@Test public void shouldFailInsteadOfThrowingForMalformedNumbers () {
+		assertSame(ArgumentConverter.FAILED, convert(int.class, ""));
+		assertSame(ArgumentConverter.FAILED, convert(int.class, "-"));
+		assertSame(ArgumentConverter.FAILED, convert(int.class, "1.5"));
+		assertSame(ArgumentConverter.FAILED, convert(float.class, "."));
+		assertSame(ArgumentConverter.FAILED, convert(double.class, "1e"));
+		assertSame(ArgumentConverter.FAILED, convert(double.class, "abc"));
+	}
+
+	@Test public void shouldConvertDecimalNumbers () {
+		assertEquals(Float.MAX_VALUE, convert(float.class, "" + Float.MAX_VALUE));
+		assertEquals(Double.MIN_VALUE, convert(Double.class, "" + Double.MIN_VALUE));
+		assertEquals(-0.5, convert(double.class, "-.5"));
+		assertEquals(Float.NEGATIVE_INFINITY, convert(float.class, "-Infinity"));
+	}
+
+	@Test public void shouldConvertNaNAndInfinityInAnyCase () {
+		assertEquals(Float.NaN, convert(float.class, "nan"));
+		assertEquals(Float.NaN, convert(float.class, "NAN"));
+		assertEquals(Double.NaN, convert(double.class, "-nAn"));
+		assertEquals(Float.POSITIVE_INFINITY, convert(float.class, "infinity"));
+		assertEquals(Double.NEGATIVE_INFINITY, convert(Double.class, "-INFINITY"));
+		assertEquals(Double.POSITIVE_INFINITY, convert(double.class, "+InFiNiTy"));
+	}
+
+	@Test public void shouldOnlyAcceptTrueOrFalseForBooleans () {
+		assertEquals(Boolean.TRUE, convert(boolean.class, "TRUE"));
+		assertEquals(Boolean.FALSE, convert(Boolean.class, "false"));
+		assertSame(ArgumentConverter.FAILED, convert(boolean.class, "yes"));
+	}
+
+	@Test public void shouldConvertOnlyTheGivenRegion () {
+		assertEquals(42, converters.get(int.class).convert("set 42 now", 4, 6));
+		assertEquals("now", converters.get(String.class).convert("set 42 now", 7, 10));
+	}
+
+	@Test public void shouldPreferMoreSpecificConverters () {
+		int string = converters.get(String.class).getMatchScore();
+		int decimal = converters.get(float.class).getMatchScore();
+		int exact = converters.get(int.class).getMatchScore();
+		assertTrue(string < decimal && decimal < exact);
+	}
+}
@@ -0,0 +1,217 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.files.FileHandle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncFileLoggerTest {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	private File file;
+	private AsyncFileLogger logger;
+	private final CountDownLatch writing = new CountDownLatch(1), release = new CountDownLatch(1);
+
+	@Before public void setUp () {
+		file = new File(folder.getRoot(), "log.txt");
+	}
+
+	@After public void tearDown () {
+		release.countDown();
+		if (logger != null) {
+			logger.dispose();
+		}
+	}
+
+	private void create (int queueCapacity) {
+		logger = new AsyncFileLogger(new FileHandle(file), queueCapacity);
+	}
+
+	private static LogEntry entry (String text) {
+		return new LogEntry(text, LogLevel.DEFAULT);
+	}
+
+	/**
+	 * @return An entry the writer thread blocks on until {@link #release} is counted down.
+	 */
+	private LogEntry blockingEntry (String text) {
+		return new LogEntry(text, LogLevel.DEFAULT) {
+			@Override void appendTo (StringBuilder builder) {
+				writing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.appendTo(builder);
+			}
+		};
+	}
+
+	private static void waitFor (BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > end) {
+				fail("Timed out");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private static List<String> readTexts (InputStream in) throws IOException {
+		List<String> texts = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				// entries are written as "<time stamp>: <level identifier><text>", the note about dropped entries as it is
+				texts.add(line.replaceFirst("^\\d+: ", ""));
+			}
+		}
+		return texts;
+	}
+
+	private static List<String> readTexts (File file) throws IOException {
+		return readTexts(new FileInputStream(file));
+	}
+
+	private File sibling (String name) {
+		return new File(folder.getRoot(), name);
+	}
+
+	@Test public void shouldNameRotatedFilesWithIncreasingIndices () throws Exception {
+		create(16);
+		logger.setMaxFileSize(1);
+		logger.write(entry("a"));
+		waitFor(() -> sibling("log-1.txt").exists());
+		logger.write(entry("b"));
+		waitFor(() -> sibling("log-2.txt").exists());
+		logger.dispose();
+
+		assertEquals("[a]", readTexts(sibling("log-1.txt")).toString());
+		assertEquals("[b]", readTexts(sibling("log-2.txt")).toString());
+		assertFalse(sibling("log-3.txt").exists());
+	}
+
+	@Test public void shouldGzipRotatedFiles () throws Exception {
+		create(16);
+		// each line is a bit more than 25 bytes, so the file is only rotated once both are written
+		logger.setMaxFileSize(40);
+		logger.setCompressRotated(true);
+		logger.write(entry("first line"));
+		logger.write(entry("second line"));
+		File compressed = sibling("log-1.txt.gz");
+		// the uncompressed file is deleted once the compressed one is complete
+		waitFor(() -> compressed.exists() && !sibling("log-1.txt").exists());
+		logger.dispose();
+
+		List<String> texts = readTexts(new GZIPInputStream(new FileInputStream(compressed)));
+		assertEquals("[first line, second line]", texts.toString());
+	}
+
+	@Test public void shouldCoalesceDroppedEntries () throws Exception {
+		create(1);
+		logger.write(blockingEntry("blocking"));
+		writing.await();
+		logger.write(entry("queued"));
+		logger.write(entry("dropped"));
+		logger.write(entry("dropped"));
+		assertEquals(2, logger.getDroppedEntries());
+		release.countDown();
+		logger.dispose();
+
+		assertEquals("[blocking, [2 log entries dropped, queue was full], queued]", readTexts(file).toString());
+	}
+
+	@Test public void shouldDropSilently () throws Exception {
+		create(1);
+		logger.setBackpressurePolicy(BackpressurePolicy.DROP);
+		logger.write(blockingEntry("blocking"));
+		writing.await();
+		logger.write(entry("queued"));
+		logger.write(entry("dropped"));
+		logger.write(entry("dropped"));
+		assertEquals(2, logger.getDroppedEntries());
+		release.countDown();
+		logger.dispose();
+
+		assertEquals("[blocking, queued]", readTexts(file).toString());
+	}
+
+	@Test public void shouldNotLoseEntriesWhenBlocking () throws Exception {
+		create(1);
+		logger.setBackpressurePolicy(BackpressurePolicy.BLOCK);
+		int threads = 4, entries = 500;
+		Thread[] producers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final String prefix = String.valueOf(t);
+			producers[t] = new Thread(() -> {
+				for (int i = 0; i < entries; i++) {
+					logger.write(entry(prefix + " " + i));
+				}
+			});
+			producers[t].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		logger.dispose();
+
+		assertEquals(0, logger.getDroppedEntries());
+		List<String> texts = readTexts(file);
+		assertEquals(threads * entries, texts.size());
+		int[] next = new int[threads];
+		for (String text : texts) {
+			int t = text.charAt(0) - '0';
+			assertEquals(t + " " + next[t]++, text);
+		}
+	}
+
+	@Test public void shouldFormatLazyEntriesOnTheLoggingThread () throws Exception {
+		create(16);
+		Thread[] formattedOn = new Thread[1];
+		logger.write(new LogEntry(LogLevel.DEFAULT, () -> {
+			formattedOn[0] = Thread.currentThread();
+			return "lazy";
+		}));
+		assertEquals(Thread.currentThread(), formattedOn[0]);
+		logger.dispose();
+		assertEquals("[lazy]", readTexts(file).toString());
+	}
+
+	@Test public void shouldWriteAllQueuedEntriesOnDispose () throws Exception {
+		int entries = 10000;
+		create(entries);
+		for (int i = 0; i < entries; i++) {
+			logger.write(entry(String.valueOf(i)));
+		}
+		logger.dispose();
+
+		List<String> texts = readTexts(file);
+		assertEquals(entries, texts.size());
+		for (int i = 0; i < entries; i++) {
+			assertEquals(String.valueOf(i), texts.get(i));
+		}
+		// nothing is queued after dispose
+		logger.write(entry("late"));
+		assertEquals(entries, readTexts(file).size());
+		assertTrue(file.delete());
+	}
+}
@@ -0,0 +1,201 @@
+package com.strongjoshua.console;
+
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import com.strongjoshua.console.annotation.ParameterOption;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CommandCompleterTest {
+	private HeadlessConsole console;
+	private CommandCompleter completer;
+
+	public static class Game implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "Game";
+		}
+
+		@ConsoleCommand public void spawn () {
+		}
+
+		@ConsoleCommand public void spawn (String type) {
+		}
+
+		@ConsoleCommand public void Speed () {
+		}
+
+		@ConsoleCommand(commandName = "sp") public void setPosition () {
+		}
+	}
+
+	public static class Gameplay implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "gameplay";
+		}
+	}
+
+	public static class Entities implements ICommandContainer, IConsoleAutoCompleterProvider {
+		int requests;
+
+		@Override public String getCommandPrefix () {
+			return "entity";
+		}
+
+		@Override public void getAutocompleteOptions (int parameterID, String prefix, int limit, OptionCollector collector) {
+			requests++;
+			for (int i = 999; i >= 0; i--) {
+				String id = "e" + i;
+				if (id.startsWith(prefix) && !collector.add(id)) {
+					return;
+				}
+			}
+		}
+
+		@ParameterOption(index = 1, id = 7)
+		@ConsoleCommand public void kill (String reason, String id) {
+		}
+	}
+
+	@Before public void setUp () {
+		console = new HeadlessConsole();
+		console.addCommandContainer(new Gameplay());
+		console.addCommandContainer(new Game());
+		completer = new CommandCompleter();
+	}
+
+	private void set (String text) {
+		completer.set(console._prefixCompletions, console._commandIndices, text);
+	}
+
+	@Test public void shouldCompletePrefixesInOrder () {
+		set("GA");
+		assertEquals("Game", completer.next());
+		assertEquals("gameplay", completer.next());
+		assertEquals("GA", completer.next());
+		assertEquals("Game", completer.next());
+	}
+
+	@Test public void shouldCompleteCommandsInOrder () {
+		set("game sp");
+		assertEquals("game sp", completer.next());
+		assertEquals("game spawn", completer.next());
+		assertEquals("game Speed", completer.next());
+		assertEquals("game sp", completer.next());
+	}
+
+	@Test public void shouldCompleteAllCommandsAfterSpace () {
+		set("game ");
+		assertEquals("game setPosition", completer.next());
+		assertEquals("game sp", completer.next());
+		assertEquals("game spawn", completer.next());
+		assertEquals("game Speed", completer.next());
+	}
+
+	@Test public void shouldForgetRemovedContainers () {
+		console.removeCommandContainer(new Game());
+		set("ga");
+		assertEquals("gameplay", completer.next());
+		assertEquals("ga", completer.next());
+		set("game s");
+		assertTrue(completer.isNew());
+	}
+
+	@Test public void shouldFindNothingForUnknownPrefixes () {
+		set("x");
+		assertTrue(completer.isNew());
+		assertEquals("x", completer.next());
+	}
+
+	@Test public void shouldNarrowWhenTextIsExtended () {
+		set("game s");
+		// kept candidates are filtered, so a removed container is only noticed once they are collected again
+		console.removeCommandContainer(new Game());
+		set("game sPa");
+		assertEquals("game spawn", completer.next());
+		assertEquals("game sPa", completer.next());
+		set("game sp");
+		assertTrue(completer.isNew());
+	}
+
+	@Test public void shouldCollectAgainForNewWord () {
+		set("help");
+		set("help p");
+		assertEquals("help print", completer.next());
+		assertEquals("help p", completer.next());
+	}
+
+	@Test public void shouldKeepCyclingUntilEnded () {
+		set("game sp");
+		assertEquals("game sp", completer.next());
+		assertTrue(completer.isCycling());
+		completer.endCycle();
+		set("game spe");
+		assertEquals("game Speed", completer.next());
+		assertEquals("game spe", completer.next());
+	}
+
+	@Test public void shouldCompleteParameterOptions () {
+		set("help print g");
+		assertEquals("help print game", completer.next());
+		assertEquals("help print gameplay", completer.next());
+		assertEquals("help print g", completer.next());
+	}
+
+	@Test public void shouldCompleteOnlyParametersWithOptions () {
+		console.addCommandContainer(new Entities());
+		set("entity kill ");
+		assertTrue(completer.isNew());
+		set("entity kill x e99");
+		assertEquals("entity kill x e99", completer.next());
+		assertEquals("entity kill x e990", completer.next());
+	}
+
+	@Test public void shouldSplitQuotedArgumentsLikeExecution () {
+		console.addCommandContainer(new Entities());
+		// the quoted reason is a single parameter, so the id is completed
+		set("entity kill \"no reason\" e99");
+		assertEquals("entity kill \"no reason\" e99", completer.next());
+		assertEquals("entity kill \"no reason\" e990", completer.next());
+	}
+
+	@Test public void shouldIgnoreRepeatedWhitespace () {
+		set("game   sp");
+		assertEquals("game   sp", completer.next());
+		assertEquals("game   spawn", completer.next());
+		assertEquals("game   Speed", completer.next());
+		set("game   spe");
+		assertEquals("game   Speed", completer.next());
+	}
+
+	@Test public void shouldQuoteOptionsThatAreNoSingleToken () {
+		assertEquals("plain", CommandCompleter.quote("plain"));
+		assertEquals("\"two words\"", CommandCompleter.quote("two words"));
+		assertEquals("\"say \\\"hi\\\"\"", CommandCompleter.quote("say \"hi\""));
+		assertEquals("\"\"", CommandCompleter.quote(""));
+		CommandTokenizer tokenizer = new CommandTokenizer();
+		assertEquals(1, tokenizer.tokenize(CommandCompleter.quote("say \"hi\" \\ 'there'")));
+		assertEquals("say \"hi\" \\ 'there'", tokenizer.getToken(0));
+	}
+
+	@Test public void shouldLimitProvidedOptions () {
+		Entities entities = new Entities();
+		console.addCommandContainer(entities);
+		set("entity kill x e");
+		int count = 0;
+		while (!completer.next().equals("entity kill x e")) {
+			count++;
+		}
+		assertEquals(CommandCompleter.MAX_PROVIDED_OPTIONS, count);
+		// the options past the limit may match, so they are asked for again
+		set("entity kill x e10");
+		assertEquals(2, entities.requests);
+		assertEquals("entity kill x e10", completer.next());
+		assertEquals("entity kill x e100", completer.next());
+		set("entity kill x e105");
+		assertEquals(2, entities.requests);
+		assertEquals("entity kill x e105", completer.next());
+		assertEquals("entity kill x e105", completer.next());
+	}
+}
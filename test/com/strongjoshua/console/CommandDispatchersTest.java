@@ -0,0 +1,36 @@
+package com.strongjoshua.console;
+
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CommandDispatchersTest {
+	public static class Commands implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "test";
+		}
+
+		@ConsoleCommand public void run () {
+		}
+	}
+
+	public static class Registered extends Commands {
+	}
+
+	@Test public void shouldReturnNullForClassesWithoutDispatcher () {
+		assertNull(CommandDispatchers.find(Commands.class));
+		// the miss is cached
+		assertNull(CommandDispatchers.find(Commands.class));
+		assertNull(CommandDispatchers.find(new Commands() {
+		}.getClass()));
+	}
+
+	@Test public void shouldPreferRegisteredDispatchersOverCachedMisses () {
+		assertNull(CommandDispatchers.find(Registered.class));
+		CommandDispatcher dispatcher = () -> new CommandMethod[0];
+		CommandDispatchers.register(Registered.class, dispatcher);
+		assertSame(dispatcher, CommandDispatchers.find(Registered.class));
+	}
+}
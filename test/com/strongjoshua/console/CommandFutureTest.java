@@ -0,0 +1,132 @@
+package com.strongjoshua.console;
+
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandFutureTest {
+	private HeadlessConsole console;
+	private Commands commands;
+
+	public static class Commands implements ICommandContainer {
+		final CountDownLatch release = new CountDownLatch(1);
+		volatile boolean interrupted;
+		volatile int calls;
+
+		@Override public String getCommandPrefix () {
+			return "test";
+		}
+
+		@ConsoleCommand public int add (int a, int b) {
+			return a + b;
+		}
+
+		@ConsoleCommand(async = true) public String slow (String text) throws InterruptedException {
+			calls++;
+			release.await();
+			return text;
+		}
+
+		@ConsoleCommand(async = true) public void broken () {
+			throw new IllegalStateException("broken");
+		}
+
+		@ConsoleCommand(async = true) public void hang () {
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+	}
+
+	@Before public void setUp () {
+		console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		commands = new Commands();
+		console.addCommandContainer(commands);
+	}
+
+	@After public void tearDown () {
+		console.dispose();
+	}
+
+	@Test public void shouldBeDoneAfterSyncCommand () {
+		CommandResult result = console.execCommand("test add 1 2");
+		assertEquals(CommandResult.Status.SUCCESS, result.getStatus());
+		assertEquals(3, result.getValue());
+		assertNull(result.getFuture());
+	}
+
+	@Test public void shouldReuseResultOfSyncCommands () {
+		CommandResult result = console.execCommand("test add 1 2");
+		assertSame(result, console.execCommand("test nothing"));
+		assertEquals(CommandResult.Status.NOT_FOUND, result.getStatus());
+	}
+
+	@Test public void shouldFailWithCommandError () throws InterruptedException {
+		CommandFuture future = console.execCommand("test broken").getFuture();
+		try {
+			future.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertEquals("broken", e.getCause().getMessage());
+		}
+		assertTrue(future.isFailed());
+	}
+
+	@Test public void shouldRunAsyncCommandOnExecutor () throws Exception {
+		CommandFuture future = console.execCommand("test slow hello").getFuture();
+		assertFalse(future.isDone());
+		commands.release.countDown();
+		assertEquals("hello", future.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test public void shouldNotRunCancelledCommand () {
+		final Runnable[] queued = new Runnable[1];
+		console.setAsyncExecutor(runnable -> queued[0] = runnable);
+		CommandFuture future = console.execCommand("test slow hello").getFuture();
+		assertTrue(future.cancel(false));
+		queued[0].run();
+		assertEquals(0, commands.calls);
+		assertTrue(future.isCancelled());
+	}
+
+	@Test public void shouldCancelTimedOutCommand () throws Exception {
+		console.setAsyncCommandTimeout(1);
+		CommandFuture future = console.execCommand("test hang").getFuture();
+		Thread.sleep(20);
+		console.update();
+		assertTrue(future.isCancelled());
+		for (int i = 0; i < 500 && !commands.interrupted; i++) {
+			Thread.sleep(10);
+		}
+		assertTrue(commands.interrupted);
+		assertEquals("Command timed out: test hang", console.getLog().get(console.getLog().size() - 1).getText());
+	}
+
+	@Test public void shouldNotifyListener () throws Exception {
+		final CommandFuture[] notified = new CommandFuture[1];
+		final CountDownLatch done = new CountDownLatch(1);
+		CommandFuture future = console.execCommand("test slow a").getFuture();
+		future.setListener(f -> {
+			notified[0] = f;
+			done.countDown();
+		});
+		commands.release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(future, notified[0]);
+	}
+}
@@ -0,0 +1,144 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import com.strongjoshua.console.annotation.ConsoleDoc;
+import com.strongjoshua.console.annotation.HiddenCommand;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CommandIndexTest {
+	private CommandIndex index;
+
+	public static class Commands implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "test";
+		}
+
+		@ConsoleCommand public int add (int a) {
+			return a;
+		}
+
+		@ConsoleCommand(parameterNames = {"a", "b"}) public int add (int a, int b) {
+			return a + b;
+		}
+
+		@ConsoleCommand(commandName = "tp")
+		@ConsoleDoc(description = "Moves.", paramDescriptions = {"where to"}) public String teleport (String target) {
+			return target;
+		}
+
+		@HiddenCommand @ConsoleCommand public void secret () {
+		}
+	}
+
+	@Before public void setUp () {
+		index = new CommandIndex(new Commands(), new ArgumentConverters());
+	}
+
+	@Test public void shouldFindCommandsByMethodNameAndAlias () {
+		CommandIndex.Overloads byName = index.get("teleport");
+		assertNotNull(byName);
+		assertSame(byName.getAll()[0], index.get("tp").getAll()[0]);
+		assertNull(index.get("nothing"));
+	}
+
+	@Test public void shouldIgnoreCase () {
+		assertSame(index.get("add"), index.get("ADD"));
+		assertSame(index.get("tp"), index.get("test Tp now", 5, 7));
+	}
+
+	public static class Shouting implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "INFO";
+		}
+
+		@ConsoleCommand(commandName = "LIST") public void list () {
+		}
+	}
+
+	@Test public void shouldIgnoreCaseIndependentOfTheDefaultLocale () {
+		Locale locale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			CommandIndex shouting = new CommandIndex(new Shouting(), new ArgumentConverters());
+			assertNotNull(shouting.get("list"));
+			assertSame(shouting.get("list"), shouting.get("LIST"));
+
+			HeadlessConsole console = new HeadlessConsole();
+			console.setLoggingToSystem(false);
+			console.addCommandContainer(new Shouting());
+			assertEquals(CommandResult.Status.SUCCESS, console.execute("info list").getStatus());
+			assertEquals(CommandResult.Status.SUCCESS, console.execute("INFO LIST").getStatus());
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+
+	@Test public void shouldGroupOverloadsByArity () {
+		CommandIndex.Overloads overloads = index.get("add");
+		assertEquals(2, overloads.getAll().length);
+		assertEquals(0, overloads.get(0).length);
+		assertEquals(1, overloads.get(1)[0].getArity());
+		assertEquals(2, overloads.get(2)[0].getArity());
+		assertEquals(0, overloads.get(3).length);
+	}
+
+	@Test public void shouldMarkHiddenCommands () {
+		assertTrue(index.get("secret").isAllHidden());
+		assertFalse(index.get("add").isAllHidden());
+	}
+
+	@Test public void shouldOnlyExecuteHiddenCommandsWhenEnabled () {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.addCommandContainer(new Commands());
+		console.setExecuteHiddenCommands(false);
+		assertEquals(CommandResult.Status.NOT_FOUND, console.execute("test secret").getStatus());
+		console.setExecuteHiddenCommands(true);
+		assertEquals(CommandResult.Status.SUCCESS, console.execute("test secret").getStatus());
+	}
+
+	@Test public void shouldTellUnknownCommandsFromBadParameters () {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.addCommandContainer(new Commands());
+		assertEquals(CommandResult.Status.NOT_FOUND, console.execute("nothing add 1").getStatus());
+		assertEquals(CommandResult.Status.NOT_FOUND, console.execute("test nothing 1").getStatus());
+		assertEquals(CommandResult.Status.BAD_PARAMETERS, console.execute("test add 1 2 3").getStatus());
+		assertEquals(CommandResult.Status.BAD_PARAMETERS, console.execute("test add one").getStatus());
+		CommandResult result = console.execute("TEST TP home");
+		assertEquals(CommandResult.Status.SUCCESS, result.getStatus());
+		assertEquals("home", result.getValue());
+	}
+
+	@Test public void shouldBuildHelpOfMethodsAndContainer () {
+		CommandMethod teleport = index.get("tp").getAll()[0];
+		assertEquals("-teleport(String):\nMoves.\n\n          String: where to", teleport.getHelp());
+		assertSame(teleport.getHelp(), teleport.getHelp());
+		assertEquals("-secret(void):\n", index.get("secret").getAll()[0].getHelp());
+		StringBuilder expected = new StringBuilder();
+		for (CommandMethod method : index.getMethods()) {
+			expected.append(method.getHelp());
+		}
+		assertEquals(expected.toString(), index.getHelp());
+	}
+
+	@Test public void shouldDescribeParametersOfMethodsAndCommandMethods () throws Exception {
+		Method method = ClassReflection.getMethod(Commands.class, "add", int.class, int.class);
+		String described = ConsoleUtils.methodParamsToString(method, new StringBuilder()).toString();
+		assertEquals("(a:int, b:int)", described);
+		assertEquals(described, ConsoleUtils.methodParamsToString(index.get("add").get(2)[0], new StringBuilder()).toString());
+		assertEquals("(void)", ConsoleUtils.methodParamsToString(index.get("secret").get(0)[0], new StringBuilder()).toString());
+	}
+}
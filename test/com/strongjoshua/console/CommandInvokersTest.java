@@ -0,0 +1,73 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandInvokersTest {
+	public static class Commands implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "test";
+		}
+
+		@ConsoleCommand public String join (String a, int b) {
+			return a + b;
+		}
+
+		@ConsoleCommand public void fail () {
+			throw new IllegalStateException("failed");
+		}
+	}
+
+	@After public void tearDown () {
+		CommandInvokers.setMethodHandlesEnabled(true);
+	}
+
+	private static Method method (String name, Class<?>... parameterTypes) throws ReflectionException {
+		return ClassReflection.getMethod(Commands.class, name, parameterTypes);
+	}
+
+	@Test public void shouldUseMethodHandlesByDefault () throws Exception {
+		CommandInvoker invoker = CommandInvokers.create(method("join", String.class, int.class));
+		assertTrue(invoker instanceof MethodHandleInvoker);
+		assertEquals("a1", invoker.invoke(new Commands(), new Object[] {"a", 1}));
+	}
+
+	@Test public void shouldFallBackToReflectionWhenDisabled () throws Exception {
+		CommandInvokers.setMethodHandlesEnabled(false);
+		CommandInvoker invoker = CommandInvokers.create(method("join", String.class, int.class));
+		assertTrue(invoker instanceof CommandInvokers.ReflectionInvoker);
+		assertEquals("a1", invoker.invoke(new Commands(), new Object[] {"a", 1}));
+	}
+
+	@Test public void shouldExecuteCommandsThroughReflection () {
+		CommandInvokers.setMethodHandlesEnabled(false);
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.addCommandContainer(new Commands());
+		CommandResult result = console.execute("test join x 2");
+		assertEquals(CommandResult.Status.SUCCESS, result.getStatus());
+		assertEquals("x2", result.getValue());
+
+		result = console.execute("test fail");
+		assertEquals(CommandResult.Status.ERROR, result.getStatus());
+		assertEquals("failed", result.getError().getMessage());
+	}
+
+	@Test public void shouldWrapExceptionsOfMethodHandles () throws Exception {
+		CommandInvoker invoker = CommandInvokers.create(method("fail"));
+		try {
+			invoker.invoke(new Commands(), new Object[0]);
+			fail();
+		} catch (ReflectionException e) {
+			assertEquals("failed", e.getCause().getMessage());
+		}
+	}
+}
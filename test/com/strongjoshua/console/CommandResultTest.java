@@ -0,0 +1,116 @@
+package com.strongjoshua.console;
+
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CommandResultTest {
+	private HeadlessConsole console;
+
+	public static class Commands implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "test";
+		}
+
+		@ConsoleCommand public int add (int a, int b) {
+			return a + b;
+		}
+
+		@ConsoleCommand public void fail () {
+			throw new IllegalStateException("failed");
+		}
+	}
+
+	public class Printing implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "print";
+		}
+
+		@ConsoleCommand public void text (String text) {
+			console.log(text);
+		}
+
+		@ConsoleCommand public int nested () {
+			console.execCommand("test add 1 1");
+			return 5;
+		}
+	}
+
+	@Before public void setUp () {
+		console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.addCommandContainer(new Commands());
+		console.addCommandContainer(new Printing());
+	}
+
+	@After public void tearDown () {
+		console.dispose();
+	}
+
+	@Test public void shouldReturnValueAndMethod () {
+		CommandResult result = console.execute("test add 1 2");
+		assertEquals(CommandResult.Status.SUCCESS, result.getStatus());
+		assertTrue(result.isSuccess());
+		assertEquals(3, result.getValue());
+		assertEquals("add", result.getMethod().getName());
+		assertEquals("test add 1 2", result.getCommand());
+		assertEquals(0, result.getOutput().size);
+	}
+
+	@Test public void shouldCaptureOutputInsteadOfLogging () {
+		int logged = console.getLog().size();
+		CommandResult result = console.execute("print text hello");
+		assertTrue(result.isSuccess());
+		assertEquals(1, result.getOutput().size);
+		assertEquals("hello", result.getOutput().first().getText());
+		assertEquals(logged, console.getLog().size());
+	}
+
+	@Test public void shouldStillLogWithExecCommand () {
+		int logged = console.getLog().size();
+		console.execCommand("print text hello");
+		// the echoed command and its output
+		assertEquals(logged + 2, console.getLog().size());
+	}
+
+	@Test public void shouldNotOverwriteResultOfOuterCommand () {
+		CommandResult result = console.execCommand("print nested");
+		assertEquals(5, result.getValue());
+		assertEquals("nested", result.getMethod().getName());
+		assertEquals("print nested", result.getCommand());
+	}
+
+	@Test public void shouldReportFailures () {
+		CommandResult result = console.execute("nothing here");
+		assertEquals(CommandResult.Status.NOT_FOUND, result.getStatus());
+		assertEquals(CommandResult.Status.NOT_FOUND.getMessage(), result.getOutput().first().getText());
+
+		result = console.execute("test add 1");
+		assertEquals(CommandResult.Status.BAD_PARAMETERS, result.getStatus());
+		assertNull(result.getMethod());
+
+		result = console.execute("test fail");
+		assertEquals(CommandResult.Status.ERROR, result.getStatus());
+		assertEquals("failed", result.getError().getMessage());
+		assertEquals(LogLevel.ERROR, result.getOutput().first().getLevel());
+	}
+
+	@Test public void shouldResetReusedResult () {
+		CommandResult result = new CommandResult();
+		assertSame(result, console.execute("print text hello", result));
+		console.execute("test add 2 2", result);
+		assertEquals(4, result.getValue());
+		assertEquals(0, result.getOutput().size);
+
+		console.setDisabled(true);
+		console.execute("test add 2 2", result);
+		assertEquals(CommandResult.Status.DISABLED, result.getStatus());
+		assertNull(result.getValue());
+	}
+}
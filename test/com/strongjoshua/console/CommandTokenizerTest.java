@@ -0,0 +1,90 @@
+package com.strongjoshua.console;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CommandTokenizerTest {
+	private CommandTokenizer tokenizer;
+
+	@Before public void setUp () {
+		tokenizer = new CommandTokenizer();
+	}
+
+	private void assertTokens (String command, String... expected) {
+		assertEquals(expected.length, tokenizer.tokenize(command));
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], tokenizer.getToken(i));
+		}
+	}
+
+	@Test public void shouldSplitOnWhitespace () {
+		assertTokens("help print test", "help", "print", "test");
+	}
+
+	@Test public void shouldNotProduceEmptyTokensForRepeatedWhitespace () {
+		assertTokens("  help \t  print  ", "help", "print");
+		assertTokens("   ");
+		assertTokens("");
+	}
+
+	@Test public void shouldKeepWhitespaceInsideQuotes () {
+		assertTokens("say \"hello  world\" 'single quoted'", "say", "hello  world", "single quoted");
+	}
+
+	@Test public void shouldJoinQuotedPartsWithAdjacentText () {
+		assertTokens("set name=\"a b\"c", "set", "name=a bc");
+	}
+
+	@Test public void shouldKeepEmptyQuotesAsEmptyToken () {
+		assertTokens("set \"\" x", "set", "", "x");
+	}
+
+	@Test public void shouldUnescapeBackslashes () {
+		assertTokens("say a\\ b \"quote \\\" inside\" back\\\\slash", "say", "a b", "quote \" inside", "back\\slash");
+	}
+
+	@Test public void shouldTreatUnterminatedQuoteAsRestOfLine () {
+		assertTokens("say \"never closed", "say", "never closed");
+	}
+
+	@Test public void shouldOnlyTokenizeTheGivenRegion () {
+		String script = "first 1;second 2";
+		assertEquals(2, tokenizer.tokenize(script, 8, script.length()));
+		assertEquals("second", tokenizer.getToken(0));
+		assertEquals("2", tokenizer.getToken(1));
+	}
+
+	@Test public void shouldReportOffsetsIntoBuffer () {
+		tokenizer.tokenize("exec \"my file\"");
+		assertEquals("my file", tokenizer.getBuffer().subSequence(tokenizer.getStart(1), tokenizer.getEnd(1)).toString());
+	}
+
+	@Test public void shouldReportOffsetsIntoTokenizedText () {
+		String command = "  exec \"my file\" x\\ y ";
+		assertEquals(3, tokenizer.tokenize(command));
+		assertEquals(2, tokenizer.getSourceStart(0));
+		assertEquals(6, tokenizer.getSourceEnd(0));
+		assertEquals("\"my file\"", command.substring(tokenizer.getSourceStart(1), tokenizer.getSourceEnd(1)));
+		assertEquals("x\\ y", command.substring(tokenizer.getSourceStart(2), tokenizer.getSourceEnd(2)));
+		assertEquals(command.length() - 1, tokenizer.getSourceEnd(2));
+	}
+
+	@Test public void shouldGrowForManyTokens () {
+		StringBuilder command = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			command.append(i).append(' ');
+		}
+		assertEquals(100, tokenizer.tokenize(command));
+		assertEquals("99", tokenizer.getToken(99));
+	}
+
+	@Test public void shouldDetectBlankInput () {
+		assertTrue(CommandTokenizer.isBlank(""));
+		assertTrue(CommandTokenizer.isBlank(" \t "));
+		assertFalse(CommandTokenizer.isBlank(" a "));
+	}
+}
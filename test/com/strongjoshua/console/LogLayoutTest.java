@@ -0,0 +1,175 @@
+package com.strongjoshua.console;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LogLayoutTest {
+	private Log log;
+	private LogLayout layout;
+	private int measured;
+
+	@Before public void setUp () {
+		log = new Log();
+		// every character is one line of 10 pixels, wrapping is ignored
+		layout = new LogLayout(log, new LogLayout.Measurer() {
+			@Override public float measure (LogEntry entry, float width) {
+				measured++;
+				return entry.getText().length() * 10;
+			}
+		});
+	}
+
+	private void add (String... texts) {
+		for (String text : texts) {
+			log.addEntry(text, LogLevel.DEFAULT);
+		}
+	}
+
+	@Test public void shouldEstimateUnmeasuredEntries () {
+		add("a", "bb", "ccc");
+		layout.setWidth(100, null, 10);
+		assertEquals(30, layout.getTotalHeight(), 0);
+		assertEquals(0, measured);
+	}
+
+	@Test public void shouldReplaceEstimatesWhenMeasured () {
+		add("a", "bb", "ccc");
+		layout.setWidth(100, null, 10);
+		assertEquals(30, layout.measure(2), 0);
+		assertEquals(50, layout.getTotalHeight(), 0);
+		layout.measure(2);
+		assertEquals(1, measured);
+	}
+
+	@Test public void shouldMeasureTailUntilHeightIsFilled () {
+		add("a", "a", "a", "aaa", "aa");
+		layout.setWidth(100, null, 10);
+		layout.measureTail(40);
+		assertEquals(2, measured);
+		assertEquals(80, layout.getTotalHeight(), 0);
+	}
+
+	@Test public void shouldKeepMeasuredHeightsAcrossUpdates () {
+		add("aa", "aaa");
+		layout.setWidth(100, null, 10);
+		layout.measureTail(100);
+		add("a");
+		layout.update();
+		assertEquals(60, layout.getTotalHeight(), 0);
+		assertEquals(2, measured);
+	}
+
+	@Test public void shouldMeasureAgainAfterWidthChange () {
+		add("aa");
+		layout.setWidth(100, null, 10);
+		layout.measure(0);
+		layout.setWidth(50, null, 10);
+		assertEquals(10, layout.getTotalHeight(), 0);
+		layout.measure(0);
+		assertEquals(2, measured);
+	}
+
+	@Test public void shouldFindEntriesFromBothEnds () {
+		for (int i = 0; i < 100; i++) {
+			add("a");
+		}
+		add("aaaaa");
+		layout.setWidth(100, null, 10);
+		layout.measure(100);
+		assertEquals(1050, layout.getTotalHeight(), 0);
+
+		assertEquals(0, layout.find(-5));
+		assertEquals(3, layout.find(35));
+		assertEquals(30, layout.getFirstOffset(), 0);
+		assertEquals(99, layout.find(995));
+		assertEquals(990, layout.getFirstOffset(), 0);
+		assertEquals(100, layout.find(1020));
+		assertEquals(1000, layout.getFirstOffset(), 0);
+		assertEquals(101, layout.find(1050));
+	}
+
+	@Test public void shouldFindNearThePreviousResult () {
+		for (int i = 0; i < 100; i++) {
+			add("a");
+		}
+		layout.setWidth(100, null, 10);
+		assertEquals(50, layout.find(505));
+		assertEquals(52, layout.find(520));
+		assertEquals(520, layout.getFirstOffset(), 0);
+		assertEquals(48, layout.find(489));
+		layout.measure(10);
+		assertEquals(49, layout.find(499));
+		assertEquals(490, layout.getFirstOffset(), 0);
+	}
+
+	@Test public void shouldRemoveHeightsOfEvictedEntries () {
+		log.setMaxEntries(3);
+		add("a", "aa", "aaa");
+		layout.setWidth(100, null, 10);
+		layout.measureTail(100);
+		assertEquals(60, layout.getTotalHeight(), 0);
+		add("a", "aaaa");
+		layout.update();
+		assertEquals(3, layout.size());
+		assertEquals(50, layout.getTotalHeight(), 0);
+		assertEquals(40, layout.measure(2), 0);
+		assertEquals(80, layout.getTotalHeight(), 0);
+		assertEquals(1, layout.find(35));
+		assertEquals(30, layout.getFirstOffset(), 0);
+	}
+
+	@Test public void shouldGrowWithTheLog () {
+		layout.setWidth(100, null, 10);
+		for (int i = 0; i < 100; i++) {
+			add("aa");
+			layout.update();
+			layout.measure(i);
+		}
+		assertEquals(2000, layout.getTotalHeight(), 0);
+		assertEquals(50, layout.find(1000));
+	}
+
+	@Test public void shouldStartOverWhenCleared () {
+		add("a", "aa");
+		layout.setWidth(100, null, 10);
+		log.clear();
+		layout.update();
+		assertEquals(0, layout.size());
+		assertEquals(0, layout.getTotalHeight(), 0);
+		add("aaa");
+		layout.update();
+		assertEquals(10, layout.getTotalHeight(), 0);
+		assertEquals(30, layout.measure(0), 0);
+		assertEquals(30, layout.getTotalHeight(), 0);
+	}
+
+	@Test public void shouldFindNearThePreviousResultAfterEviction () {
+		log.setMaxEntries(10);
+		for (int i = 0; i < 10; i++) {
+			add("a");
+		}
+		layout.setWidth(100, null, 10);
+		assertEquals(6, layout.find(65));
+		add("b", "c");
+		layout.update();
+		assertEquals(6, layout.find(65));
+		assertEquals(60, layout.getFirstOffset(), 0);
+		assertEquals("a", log.get(6).getText());
+		assertEquals(8, layout.find(85));
+		assertEquals("b", log.get(8).getText());
+	}
+
+	@Test public void shouldMapOffsetsToEntries () {
+		add("a", "aaa", "a");
+		layout.setWidth(100, null, 10);
+		layout.measureTail(100);
+		assertEquals(-1, layout.indexAt(-1));
+		assertEquals(0, layout.indexAt(0));
+		assertEquals(1, layout.indexAt(10));
+		assertEquals(1, layout.indexAt(39.5f));
+		assertEquals(2, layout.indexAt(40));
+		assertEquals(-1, layout.indexAt(50));
+	}
+}
@@ -0,0 +1,186 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.Array;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LogQueueTest {
+	private static LogEntry entry (String text) {
+		return new LogEntry(text, LogLevel.DEFAULT);
+	}
+
+	@Test public void shouldKeepOrder () {
+		LogQueue queue = new LogQueue(4);
+		LogEntry a = entry("a"), b = entry("b");
+		assertTrue(queue.offer(a));
+		assertTrue(queue.offer(b));
+		assertSame(a, queue.poll());
+		assertSame(b, queue.poll());
+		assertNull(queue.poll());
+	}
+
+	@Test public void shouldRejectWhenFull () {
+		LogQueue queue = new LogQueue(3);
+		assertEquals(4, queue.capacity());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(queue.offer(entry("a")));
+		}
+		assertFalse(queue.offer(entry("b")));
+		queue.poll();
+		assertTrue(queue.offer(entry("c")));
+	}
+
+	@Test public void shouldWrapAround () {
+		LogQueue queue = new LogQueue(2);
+		for (int i = 0; i < 10; i++) {
+			LogEntry e = entry("e" + i);
+			assertTrue(queue.offer(e));
+			assertSame(e, queue.poll());
+		}
+	}
+
+	@Test public void shouldQueueEntriesOfOtherThreads () throws InterruptedException {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		Thread thread = new Thread(() -> console.log("worker"), "worker");
+		thread.start();
+		thread.join();
+		assertEquals(0, console.getLog().size());
+		console.update();
+		assertEquals(1, console.getLog().size());
+		assertEquals("worker", console.getLog().get(0).getThreadTag());
+		assertEquals("[worker] worker", console.getLog().get(0).toConsoleString());
+
+		console.log("main");
+		assertEquals(2, console.getLog().size());
+		assertNull(console.getLog().get(1).getThreadTag());
+	}
+
+	@Test public void shouldWriteEntriesOfOtherThreadsToThreadSafeSinksRightAway () throws InterruptedException {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		final Array<LogEntry> written = new Array<>();
+		console.addLogSink(new AbstractLogSink() {
+			@Override public boolean isThreadSafe () {
+				return true;
+			}
+
+			@Override public void write (LogEntry entry) {
+				synchronized (written) {
+					written.add(entry);
+				}
+			}
+		});
+		Thread thread = new Thread(() -> console.log("worker"), "worker");
+		thread.start();
+		thread.join();
+		assertEquals(1, written.size);
+		assertEquals("worker", written.first().getThreadTag());
+		assertEquals(0, console.getLog().size());
+
+		console.update();
+		assertEquals(1, console.getLog().size());
+		assertEquals(1, written.size);
+	}
+
+	@Test public void shouldNotQueueEntriesOnlyThreadSafeSinksAccept () throws InterruptedException {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.getLog().setEnabled(false);
+		final AtomicInteger written = new AtomicInteger();
+		console.addLogSink(new AbstractLogSink() {
+			@Override public boolean isThreadSafe () {
+				return true;
+			}
+
+			@Override public void write (LogEntry entry) {
+				written.incrementAndGet();
+			}
+		});
+		Thread thread = new Thread(() -> {
+			for (int i = 0; i < AbstractConsole.LOG_QUEUE_CAPACITY + 10; i++) {
+				console.log("entry");
+			}
+		});
+		thread.start();
+		thread.join();
+		assertEquals(AbstractConsole.LOG_QUEUE_CAPACITY + 10, written.get());
+		console.getLog().setEnabled(true);
+		console.update();
+		// nothing was queued, so nothing was dropped either
+		assertEquals(0, console.getLog().size());
+	}
+
+	@Test public void shouldCountDrainedEntries () throws InterruptedException {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		assertTrue(console.isLogThread());
+		final boolean[] workerIsLogThread = new boolean[1];
+		Thread thread = new Thread(() -> {
+			workerIsLogThread[0] = console.isLogThread();
+			console.log("a");
+			console.log("b");
+		});
+		thread.start();
+		thread.join();
+		assertFalse(workerIsLogThread[0]);
+		assertEquals(2, console.drainLogQueue());
+		assertEquals(0, console.drainLogQueue());
+	}
+
+	@Test public void shouldCoalesceDroppedEntries () throws InterruptedException {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.getLog().setMaxEntries(AbstractConsole.LOG_QUEUE_CAPACITY * 2);
+		Thread thread = new Thread(() -> {
+			for (int i = 0; i < AbstractConsole.LOG_QUEUE_CAPACITY + 10; i++) {
+				console.log("entry");
+			}
+		});
+		thread.start();
+		thread.join();
+		console.update();
+		Log log = console.getLog();
+		assertEquals(AbstractConsole.LOG_QUEUE_CAPACITY + 1, log.size());
+		assertEquals("[10 log entries dropped, queue was full]", log.get(log.size() - 1).getText());
+	}
+
+	@Test public void shouldKeepEntriesOfAllThreadsWhenBlocking () throws InterruptedException {
+		HeadlessConsole console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.setLogQueuePolicy(BackpressurePolicy.BLOCK);
+		int threads = 4, entries = 5000;
+		console.getLog().setMaxEntries(threads * entries);
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			workers[t] = new Thread(() -> {
+				for (int i = 0; i < entries; i++) {
+					console.log(LogLevel.DEFAULT, "{}", i);
+				}
+			}, "worker" + t);
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			while (worker.isAlive()) {
+				console.update();
+			}
+		}
+		console.update();
+
+		Log log = console.getLog();
+		assertEquals(threads * entries, log.size());
+		int[] next = new int[threads];
+		for (int i = 0; i < log.size(); i++) {
+			LogEntry entry = log.get(i);
+			int t = entry.getThreadTag().charAt(6) - '0';
+			assertEquals(String.valueOf(next[t]++), entry.getText());
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.utils.Array;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class LogSinkTest {
+	private HeadlessConsole console;
+	private final AtomicInteger formatted = new AtomicInteger();
+
+	/**
+	 * Counts how often it is formatted.
+	 */
+	private final Object argument = new Object() {
+		@Override public String toString () {
+			formatted.incrementAndGet();
+			return "argument";
+		}
+	};
+
+	@Before public void setUp () {
+		console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		console.getLog().setLevels(LogLevel.ERROR);
+	}
+
+	private static class RecordingSink extends AbstractLogSink {
+		final Array<LogEntry> entries = new Array<>();
+
+		@Override public void write (LogEntry entry) {
+			entries.add(entry);
+		}
+	}
+
+	/**
+	 * Counts the entries that were created and passed on to the sinks.
+	 */
+	private static class CountingConsole extends HeadlessConsole {
+		int entries;
+
+		@Override protected void log (LogEntry entry) {
+			entries++;
+			super.log(entry);
+		}
+	}
+
+	@Test public void shouldOnlyWriteAcceptedLevelsToEachSink () {
+		RecordingSink errors = new RecordingSink();
+		errors.setLevels(LogLevel.ERROR);
+		console.addLogSink(errors);
+		console.getLog().setEnabled(true);
+
+		console.log("default");
+		console.log("error", LogLevel.ERROR);
+		console.log(LogLevel.SUCCESS, "{}", "success");
+		assertEquals(1, errors.entries.size);
+		assertEquals("error", errors.entries.first().getText());
+		assertEquals(3, console.getLog().size());
+
+		errors.setLevelEnabled(LogLevel.SUCCESS, true);
+		console.log("success", LogLevel.SUCCESS);
+		assertEquals(2, errors.entries.size);
+		assertSame(console.getLog().get(3), errors.entries.get(1));
+	}
+
+	@Test public void shouldNotCreateEntriesNoSinkAccepts () {
+		CountingConsole console = new CountingConsole();
+		console.setLoggingToSystem(false);
+		console.getLog().setLevels(LogLevel.ERROR);
+		RecordingSink sink = new RecordingSink();
+		sink.setLevels(LogLevel.COMMAND);
+		console.addLogSink(sink);
+
+		console.log("default");
+		console.log("success", LogLevel.SUCCESS);
+		console.log(LogLevel.DEFAULT, "{}", argument);
+		console.log(LogLevel.DEFAULT, () -> "supplied");
+		console.log(new RuntimeException(), LogLevel.SUCCESS);
+		assertEquals(0, console.entries);
+		assertEquals(0, sink.entries.size);
+		assertEquals(0, console.getLog().size());
+
+		console.log("error", LogLevel.ERROR);
+		console.log("command", LogLevel.COMMAND);
+		assertEquals(2, console.entries);
+		assertEquals(1, sink.entries.size);
+		assertEquals(1, console.getLog().size());
+	}
+
+	@Test public void shouldStopWritingToRemovedSinks () {
+		RecordingSink sink = new RecordingSink();
+		console.addLogSink(sink);
+		console.addLogSink(sink);
+		console.log("first");
+		console.removeLogSink(sink);
+		console.log("second");
+		assertEquals(1, sink.entries.size);
+	}
+
+	@Test public void shouldNotCallSupplierForFilteredLevel () {
+		console.log(LogLevel.DEFAULT, () -> {
+			formatted.incrementAndGet();
+			return "message";
+		});
+		assertEquals(0, formatted.get());
+		assertEquals(0, console.getLog().size());
+	}
+
+	@Test public void shouldNotFormatPatternForFilteredLevel () {
+		console.log(LogLevel.DEFAULT, "value: {}", argument);
+		assertEquals(0, formatted.get());
+		assertEquals(0, console.getLog().size());
+	}
+
+	@Test public void shouldFormatAcceptedEntriesOnceWhenRead () {
+		console.log(LogLevel.ERROR, "value: {}", argument);
+		assertEquals(0, formatted.get());
+		LogEntry entry = console.getLog().get(0);
+		assertEquals("value: argument", entry.getText());
+		assertEquals("value: argument", entry.getText());
+		assertEquals(1, formatted.get());
+	}
+}
@@ -0,0 +1,145 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LogTest {
+	private Log log;
+
+	@Before public void setUp () {
+		log = new Log();
+	}
+
+	private void add (int from, int to) {
+		for (int i = from; i < to; i++) {
+			log.addEntry("" + i, LogLevel.DEFAULT);
+		}
+	}
+
+	private void assertEntries (int from, int to) {
+		assertEquals(to - from, log.size());
+		for (int i = from; i < to; i++) {
+			assertEquals("" + i, log.get(i - from).toConsoleString());
+		}
+	}
+
+	@Test public void shouldKeepAllEntriesWhenUnlimited () {
+		add(0, 1000);
+		assertEntries(0, 1000);
+	}
+
+	@Test public void shouldEvictTheOldestEntriesWhenFull () {
+		log.setMaxEntries(10);
+		add(0, 25);
+		assertEntries(15, 25);
+	}
+
+	@Test public void shouldKeepTheNewestEntriesWhenMaximumIsLowered () {
+		add(0, 40);
+		log.setMaxEntries(5);
+		assertEntries(35, 40);
+		add(40, 43);
+		assertEntries(38, 43);
+	}
+
+	@Test public void shouldEvictCorrectlyWhenMaximumIsBelowCapacity () {
+		add(0, 40);
+		log.setMaxEntries(50);
+		add(40, 60);
+		assertEntries(10, 60);
+	}
+
+	@Test public void shouldGrowAgainWhenMaximumIsRaised () {
+		log.setMaxEntries(3);
+		add(0, 10);
+		log.setMaxEntries(Console.UNLIMITED_ENTRIES);
+		add(10, 20);
+		assertEntries(7, 20);
+	}
+
+	@Test public void shouldIterateFromOldestToNewest () {
+		log.setMaxEntries(4);
+		add(0, 6);
+		Iterator<LogEntry> iterator = log.iterator();
+		for (int i = 2; i < 6; i++) {
+			assertEquals("" + i, iterator.next().toConsoleString());
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	@SuppressWarnings("deprecation") @Test public void shouldCopyEntriesForTheDeprecatedAccessor () {
+		log.setMaxEntries(4);
+		add(0, 6);
+		Array<LogEntry> entries = log.getLogEntries();
+		assertEquals(4, entries.size);
+		for (int i = 0; i < 4; i++) {
+			assertSame(log.get(i), entries.get(i));
+		}
+		entries.clear();
+		assertEquals(4, log.size());
+	}
+
+	@Test public void shouldBeEmptyAfterClear () {
+		add(0, 10);
+		log.clear();
+		assertEquals(0, log.size());
+		add(10, 12);
+		assertEntries(10, 12);
+	}
+
+	private FileHandle tempFile () throws IOException {
+		File file = File.createTempFile("console", ".log");
+		file.deleteOnExit();
+		return new FileHandle(file);
+	}
+
+	private String[] printToFile (boolean append) throws IOException {
+		FileHandle fh = tempFile();
+		fh.writeString("existing\n", false);
+		assertTrue(log.printToFile(fh, append));
+		return fh.readString().split("\n");
+	}
+
+	@Test public void shouldPrintAllEntriesToFile () throws IOException {
+		add(0, 3);
+		String[] lines = printToFile(false);
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].endsWith(": 0"));
+		assertTrue(lines[2].endsWith(": 2"));
+	}
+
+	@Test public void shouldOnlyAppendEntriesAddedSinceTheLastExport () throws IOException {
+		add(0, 3);
+		log.printToFile(tempFile(), false);
+		add(3, 5);
+		String[] lines = printToFile(true);
+		assertEquals(3, lines.length);
+		assertEquals("existing", lines[0]);
+		assertTrue(lines[1].endsWith(": 3"));
+		assertTrue(lines[2].endsWith(": 4"));
+	}
+
+	@Test public void shouldSkipEvictedEntriesWhenAppending () throws IOException {
+		log.setMaxEntries(2);
+		add(0, 5);
+		String[] lines = printToFile(true);
+		assertEquals(3, lines.length);
+		assertTrue(lines[1].endsWith(": 3"));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class) public void shouldRejectIndicesOutsideTheLog () {
+		add(0, 2);
+		log.get(2);
+	}
+}
@@ -0,0 +1,105 @@
+package com.strongjoshua.console;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.strongjoshua.console.annotation.ConsoleCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScriptTest {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	private HeadlessConsole console;
+	private Commands commands;
+
+	public static class Commands implements ICommandContainer {
+		final Array<String> received = new Array<>();
+
+		@Override public String getCommandPrefix () {
+			return "test";
+		}
+
+		@ConsoleCommand public void put (String value) {
+			received.add(value);
+		}
+	}
+
+	public class Scripts implements ICommandContainer {
+		@Override public String getCommandPrefix () {
+			return "script";
+		}
+
+		@ConsoleCommand public void run (String path) {
+			console.execScript(new FileHandle(path), false);
+		}
+	}
+
+	@Before public void setUp () {
+		console = new HeadlessConsole();
+		console.setLoggingToSystem(false);
+		commands = new Commands();
+		console.addCommandContainer(commands);
+		console.addCommandContainer(new Scripts());
+	}
+
+	@After public void tearDown () {
+		console.dispose();
+	}
+
+	private FileHandle write (String name, String text) throws IOException {
+		FileHandle file = new FileHandle(folder.newFile(name));
+		file.writeString(text, false, "UTF-8");
+		return file;
+	}
+
+	@Test public void shouldRunEveryLine () throws IOException {
+		FileHandle file = write("a.cfg", "test put a\n\n   \ntest put b\r\ntest put c");
+		assertTrue(console.execScript(file, false));
+		assertEquals(3, commands.received.size);
+		assertEquals("c", commands.received.get(2));
+	}
+
+	@Test public void shouldSplitStatementsAndSkipComments () throws IOException {
+		FileHandle file = write("a.cfg",
+			"# comment\n" + "// another comment\n" + "test put a; test put b ;;\n" + "test put c # trailing\n" + "test put d//e\n"
+				+ "test put \"f; g # h\"; test put i");
+		assertTrue(console.execScript(file, false));
+		assertEquals("[a, b, c, d//e, f; g # h, i]", commands.received.toString());
+	}
+
+	@Test public void shouldOnlyEchoWhenAsked () throws IOException {
+		FileHandle file = write("a.cfg", "test put a; test put b");
+		int logged = console.getLog().size();
+		console.execScript(file, false);
+		assertEquals(logged, console.getLog().size());
+		console.execScript(file, true);
+		assertEquals(logged + 2, console.getLog().size());
+		assertEquals(LogLevel.COMMAND, console.getLog().get(logged).getLevel());
+	}
+
+	@Test public void shouldContinueAfterFailures () throws IOException {
+		FileHandle file = write("a.cfg", "test put a\nnothing here\ntest put b");
+		assertFalse(console.execScript(file, false));
+		assertEquals(2, commands.received.size);
+		assertTrue(console.getLog().get(console.getLog().size() - 1).getText().contains("a.cfg:2: nothing here"));
+	}
+
+	@Test public void shouldStopRecursion () throws IOException {
+		FileHandle file = new FileHandle(folder.newFile("self.cfg"));
+		file.writeString("test put a; script run \"" + file.path().replace("\\", "\\\\") + "\"", false, "UTF-8");
+		console.execScript(file, false);
+		assertEquals(AbstractConsole.MAX_SCRIPT_DEPTH, commands.received.size);
+	}
+
+	@Test public void shouldFailForMissingFile () {
+		assertFalse(console.execScript(new FileHandle(folder.getRoot()).child("missing.cfg"), false));
+	}
+}
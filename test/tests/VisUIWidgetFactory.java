@@ -0,0 +1,49 @@
+package tests;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField;
+import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.Window;
+import com.kotcrab.vis.ui.widget.VisLabel;
+import com.kotcrab.vis.ui.widget.VisScrollPane;
+import com.kotcrab.vis.ui.widget.VisTable;
+import com.kotcrab.vis.ui.widget.VisTextButton;
+import com.kotcrab.vis.ui.widget.VisWindow;
+import com.strongjoshua.console.ConsoleWidgetFactory;
+
+/** Builds the console from VisUI widgets, which are styled by the skin loaded with {@link com.kotcrab.vis.ui.VisUI#load()}. */
+public class VisUIWidgetFactory implements ConsoleWidgetFactory {
+	@Override public Window newWindow (String title, Skin skin) {
+		return new VisWindow(title);
+	}
+
+	@Override public Table newTable (Skin skin) {
+		return new VisTable();
+	}
+
+	@Override public TextField newTextField (String text, TextFieldStyle style, Skin skin) {
+		// a VisTextField would need a VisTextFieldStyle, the plain one keeps the console font
+		return new TextField(text, style);
+	}
+
+	@Override public TextButton newTextButton (String text, Skin skin) {
+		return new VisTextButton(text);
+	}
+
+	@Override public Label newLabel (CharSequence text, Skin skin) {
+		return new VisLabel(text);
+	}
+
+	@Override public ScrollPane newScrollPane (Actor widget, Skin skin) {
+		return new VisScrollPane(widget);
+	}
+
+	@Override public String getTableBackground () {
+		return "default-pane";
+	}
+}